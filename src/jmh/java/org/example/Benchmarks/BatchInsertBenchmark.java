@@ -0,0 +1,114 @@
+package org.example.Benchmarks;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Update;
+import org.example.Adapters.MyBatisAdapter;
+import org.example.Adapters.SqlSessionContext;
+import org.example.AnnotationApplicationContext;
+import org.example.Annotations.Batch;
+import org.example.Metrics.MetricsRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchInsertBenchmark {
+    @Param({"1000"})
+    int rows;
+
+    PostMapper mapper;
+    SqlSessionContext sqlSessionContext;
+    List<Post> posts;
+
+    @Setup
+    public void setup() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("url", "jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1");
+        properties.setProperty("username", "sa");
+        properties.setProperty("password", "");
+        properties.setProperty("driver", "org.h2.Driver");
+        Map<Class<?>, Object> instances = new HashMap<>();
+        AnnotationApplicationContext applicationContext = Mockito.mock(AnnotationApplicationContext.class);
+        Mockito.when(applicationContext.getClasses()).thenReturn(List.of(PostMapper.class));
+        Mockito.when(applicationContext.getProperties()).thenReturn(properties);
+        Mockito.when(applicationContext.getProperty(anyString(), any())).thenAnswer(invocation -> properties.getProperty(invocation.getArgument(0), invocation.getArgument(1)));
+        Mockito.when(applicationContext.getMetricsRegistry()).thenReturn(new MetricsRegistry());
+        Mockito.doAnswer(invocation -> instances.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(applicationContext).registerInstance(any(), any());
+        new MyBatisAdapter(applicationContext);
+        mapper = (PostMapper) instances.get(PostMapper.class);
+        sqlSessionContext = (SqlSessionContext) instances.get(SqlSessionContext.class);
+        mapper.createTable();
+        posts = new ArrayList<>();
+        for (int i = 0; i < rows; i++)
+            posts.add(new Post("title " + i));
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        mapper.truncate();
+    }
+
+    @Benchmark
+    public void autoCommitInserts() {
+        for (Post post : posts)
+            mapper.insert(post);
+    }
+
+    @Benchmark
+    public void transactionalInserts() throws Exception {
+        sqlSessionContext.inTransaction(() -> {
+            for (Post post : posts)
+                mapper.insert(post);
+            return null;
+        });
+    }
+
+    @Benchmark
+    public int[] batchedInserts() {
+        return mapper.insertAll(posts);
+    }
+
+    @Mapper
+    public interface PostMapper {
+        @Update("CREATE TABLE IF NOT EXISTS post (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(100))")
+        void createTable();
+
+        @Update("TRUNCATE TABLE post")
+        void truncate();
+
+        @Insert("INSERT INTO post (title) VALUES (#{title})")
+        int insert(Post post);
+
+        @Batch(flushEvery = 500)
+        @Insert("INSERT INTO post (title) VALUES (#{title})")
+        int[] insertAll(List<Post> posts);
+    }
+
+    public static class Post {
+        final String title;
+
+        Post(String title) {
+            this.title = title;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+}
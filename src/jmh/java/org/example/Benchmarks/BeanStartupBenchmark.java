@@ -0,0 +1,117 @@
+package org.example.Benchmarks;
+
+import org.example.DependencyInjector.Container;
+import org.openjdk.jmh.annotations.*;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class BeanStartupBenchmark {
+    private static final String PACKAGE_NAME = "synthetic.beans";
+
+    @Param({"42"})
+    int beans;
+
+    @Param({"plain", "generated", "cglib"})
+    String proxies;
+
+    Path root;
+    Path classesDirectory;
+    URLClassLoader classLoader;
+    MemoryPoolMXBean metaspace;
+
+    @Setup(Level.Trial)
+    public void generateBeans() throws IOException {
+        root = Files.createTempDirectory("synthetic-beans");
+        Path sourcesDirectory = Files.createDirectories(root.resolve("src").resolve(PACKAGE_NAME.replace('.', '/')));
+        classesDirectory = Files.createDirectories(root.resolve("classes"));
+
+        List<String> arguments = new ArrayList<>(List.of(
+                "-d", classesDirectory.toString(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-nowarn"));
+        if (proxies.equals("generated"))
+            arguments.addAll(List.of("-processor", "org.example.DependencyInjector.AsyncProxyProcessor"));
+        else
+            arguments.add("-proc:none");
+        for (int i = 0; i < beans; i++) {
+            Path source = sourcesDirectory.resolve("Bean" + i + ".java");
+            Files.writeString(source, generateSource(i, !proxies.equals("plain")));
+            arguments.add(source.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0)
+            throw new IllegalStateException("Could not compile the synthetic beans");
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().equals("Metaspace"))
+                metaspace = pool;
+        }
+    }
+
+    private static String generateSource(int i, boolean async) {
+        return "package " + PACKAGE_NAME + ";\n\n" +
+                "public class Bean" + i + " {\n" +
+                (i > 0 ? "    @org.example.DependencyInjector.Annotations.Inject\n    public Bean" + (i - 1) + " previous;\n" : "") +
+                "    public int id() { return " + i + "; }\n" +
+                (async ? "    @org.example.DependencyInjector.Annotations.Async\n    public void refresh() { }\n" : "") +
+                "}\n";
+    }
+
+    @Setup(Level.Invocation)
+    public void createClassLoader() throws IOException {
+        classLoader = new URLClassLoader(new URL[] { classesDirectory.toUri().toURL() }, BeanStartupBenchmark.class.getClassLoader());
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeClassLoader() throws IOException {
+        classLoader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteBeans() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Container createBeans(MetaspaceCounter counter) throws Exception {
+        long metaspaceBefore = metaspace.getUsage().getUsed();
+        Container container = new Container();
+        for (int i = beans - 1; i >= 0; i--)
+            container.getInstance(classLoader.loadClass(PACKAGE_NAME + ".Bean" + i));
+        counter.metaspaceKilobytes += (metaspace.getUsage().getUsed() - metaspaceBefore) / 1024;
+        return container;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class MetaspaceCounter {
+        public long metaspaceKilobytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            metaspaceKilobytes = 0;
+        }
+    }
+}
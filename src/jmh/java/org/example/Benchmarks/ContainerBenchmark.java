@@ -0,0 +1,168 @@
+package org.example.Benchmarks;
+
+import org.example.DependencyInjector.Annotations.Async;
+import org.example.DependencyInjector.Annotations.EventListener;
+import org.example.DependencyInjector.Annotations.Inject;
+import org.example.DependencyInjector.ApplicationEventPublisher;
+import org.example.DependencyInjector.Container;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class ContainerBenchmark {
+    Container container;
+    Container frozenContainer;
+    PostService containerService;
+    AuditedPostService proxiedService;
+    PostService plainService;
+    AsyncPostService asyncService;
+    ApplicationEventPublisher publisher;
+    PostCreated event;
+    PostArchived archivedEvent;
+
+    @Setup
+    public void setup() throws Exception {
+        container = new Container();
+        container.registerInterceptor(Audited.class, (method, invocation) -> invocation.proceed());
+        containerService = container.getInstance(PostService.class);
+        proxiedService = container.getInstance(AuditedPostService.class);
+        container.getInstance(AuditListener.class);
+        container.getInstance(DomainEventListener.class);
+        asyncService = container.getInstance(AsyncPostService.class);
+        plainService = new PostService();
+        plainService.repository = new PostRepository();
+        publisher = container.getInstance(ApplicationEventPublisher.class);
+        event = new PostCreated(1);
+        archivedEvent = new PostArchived(1);
+        frozenContainer = new Container();
+        frozenContainer.getInstance(PostService.class);
+        frozenContainer.freeze();
+    }
+
+    @Benchmark
+    public PostService getInstance() throws Exception {
+        return container.getInstance(PostService.class);
+    }
+
+    @Benchmark
+    public PostService frozenGetInstance() throws Exception {
+        return frozenContainer.getInstance(PostService.class);
+    }
+
+    @Benchmark
+    public int containerCall() {
+        return containerService.count(3);
+    }
+
+    @Benchmark
+    public int proxiedCall() {
+        return proxiedService.count(3);
+    }
+
+    @Benchmark
+    public int asyncBeanSyncCall() {
+        return asyncService.count(3);
+    }
+
+    @Benchmark
+    public int plainCall() {
+        return plainService.count(3);
+    }
+
+    @Benchmark
+    public void publishEvent() throws Exception {
+        publisher.publishEvent(event);
+    }
+
+    @Benchmark
+    public void publishInterfaceEvent() throws Exception {
+        publisher.publishEvent(archivedEvent);
+    }
+
+    public static class PostRepository {
+        public int size() {
+            return 10;
+        }
+    }
+
+    public static class PostService {
+        @Inject
+        public PostRepository repository;
+
+        public int count(int pages) {
+            return repository.size() * pages;
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Audited {
+    }
+
+    public static class AuditedPostService {
+        @Inject
+        public PostRepository repository;
+
+        @Audited
+        public int count(int pages) {
+            return repository.size() * pages;
+        }
+    }
+
+    public static class AsyncPostService {
+        @Inject
+        public PostRepository repository;
+
+        public int count(int pages) {
+            return repository.size() * pages;
+        }
+
+        @Async
+        public void reindex() {
+        }
+    }
+
+    public static class AuditListener {
+        public long lastId;
+
+        @EventListener
+        public void onPostCreated(PostCreated event) {
+            lastId = event.id;
+        }
+    }
+
+    public static class DomainEventListener {
+        public long events;
+
+        @EventListener
+        public void onDomainEvent(DomainEvent event) {
+            events++;
+        }
+    }
+
+    public interface DomainEvent {
+    }
+
+    public static class PostArchived implements DomainEvent {
+        final long id;
+
+        PostArchived(long id) {
+            this.id = id;
+        }
+    }
+
+    public static class PostCreated {
+        final long id;
+
+        PostCreated(long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.Benchmarks;
+
+import org.example.Adapters.ControllersAdapter;
+import org.example.AnnotationApplicationContext;
+import org.example.Annotations.Mappings.GetMapping;
+import org.example.Annotations.Mappings.PostMapping;
+import org.example.Annotations.Mappings.RequestMapping;
+import org.example.Annotations.PathVariable;
+import org.example.Annotations.RequestBody;
+import org.example.Annotations.RequestParam;
+import org.example.Annotations.RestController;
+import org.example.InvocationContext;
+import org.example.Metrics.MetricsRegistry;
+import org.example.MethodMapping;
+import org.example.Routing.RouteMatch;
+import org.example.SerializerRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+    ControllersAdapter controllersAdapter;
+    PostController controller;
+    RouteMatch<MethodMapping> exactMatch;
+    RouteMatch<MethodMapping> templateMatch;
+    Map<String, String[]> requestParams;
+
+    @Setup
+    public void setup() throws Exception {
+        AnnotationApplicationContext applicationContext = Mockito.mock(AnnotationApplicationContext.class);
+        Mockito.when(applicationContext.getClasses()).thenReturn(List.of(PostController.class));
+        Mockito.when(applicationContext.getProperty(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        Mockito.when(applicationContext.getSerializerRegistry()).thenReturn(new SerializerRegistry());
+        Mockito.when(applicationContext.getMetricsRegistry()).thenReturn(new MetricsRegistry());
+        controllersAdapter = new ControllersAdapter(applicationContext);
+        controller = new PostController();
+        exactMatch = controllersAdapter.getMethodMapping("/posts", "GET");
+        templateMatch = controllersAdapter.getMethodMapping("/posts/42/comments/7", "GET");
+        requestParams = Map.of("page", new String[] { "3" });
+    }
+
+    @Benchmark
+    public RouteMatch<MethodMapping> exactLookup() {
+        return controllersAdapter.getMethodMapping("/posts", "GET");
+    }
+
+    @Benchmark
+    public RouteMatch<MethodMapping> templateLookup() {
+        return controllersAdapter.getMethodMapping("/posts/42/comments/7", "GET");
+    }
+
+    @Benchmark
+    public Object exactBinding() throws Exception {
+        InvocationContext context = new InvocationContext(requestParams, exactMatch.getPathVariables());
+        return exactMatch.getHandler().invoke(controller, context);
+    }
+
+    @Benchmark
+    public Object templateBinding() throws Exception {
+        InvocationContext context = new InvocationContext(requestParams, templateMatch.getPathVariables());
+        return templateMatch.getHandler().invoke(controller, context);
+    }
+
+    @RestController
+    @RequestMapping("/posts")
+    public static class PostController {
+        @GetMapping("")
+        public String list(@RequestParam Integer page) {
+            return "posts";
+        }
+
+        @GetMapping("/{id}/comments/{commentId}")
+        public String comment(@PathVariable long id, @PathVariable int commentId, @RequestParam Integer page) {
+            return "comment";
+        }
+
+        @PostMapping("")
+        public String create(@RequestBody String body) {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.Benchmarks;
+
+import org.example.DependencyInjector.Annotations.EventListener;
+import org.example.DependencyInjector.ApplicationEventPublisher;
+import org.example.DependencyInjector.Container;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class EventLaneBenchmark {
+    static final int EVENTS = 10_000;
+    static final int AGGREGATES = 256;
+    static final LongAdder handled = new LongAdder();
+
+    @Param({"1", "4", "16"})
+    int lanes;
+
+    ApplicationEventPublisher publisher;
+    OrderUpdated[] events;
+
+    @Setup
+    public void setup() throws Exception {
+        Container container = new Container();
+        switch (lanes) {
+            case 1:
+                container.getInstance(OneLaneListener.class);
+                break;
+            case 4:
+                container.getInstance(FourLaneListener.class);
+                break;
+            default:
+                container.getInstance(SixteenLaneListener.class);
+        }
+        publisher = container.getInstance(ApplicationEventPublisher.class);
+        events = new OrderUpdated[EVENTS];
+        for (int i = 0; i < EVENTS; i++)
+            events[i] = new OrderUpdated(i % AGGREGATES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void publishAndDrain() throws Exception {
+        long target = handled.sum() + EVENTS;
+        for (OrderUpdated event : events)
+            publisher.publishEvent(event);
+        while (handled.sum() < target)
+            Thread.onSpinWait();
+    }
+
+    static void handle() {
+        Blackhole.consumeCPU(500);
+        handled.increment();
+    }
+
+    public static class OrderUpdated {
+        final long orderId;
+
+        OrderUpdated(long orderId) {
+            this.orderId = orderId;
+        }
+    }
+
+    public static class OneLaneListener {
+        @EventListener(async = true, key = "orderId", partitions = 1)
+        public void onOrderUpdated(OrderUpdated event) {
+            handle();
+        }
+    }
+
+    public static class FourLaneListener {
+        @EventListener(async = true, key = "orderId", partitions = 4)
+        public void onOrderUpdated(OrderUpdated event) {
+            handle();
+        }
+    }
+
+    public static class SixteenLaneListener {
+        @EventListener(async = true, key = "orderId", partitions = 16)
+        public void onOrderUpdated(OrderUpdated event) {
+            handle();
+        }
+    }
+}
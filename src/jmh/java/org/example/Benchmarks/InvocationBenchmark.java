@@ -0,0 +1,106 @@
+package org.example.Benchmarks;
+
+import org.example.Invokers.HandlerInvoker;
+import org.example.Invokers.MethodHandleInvoker;
+import org.example.Invokers.ReflectiveInvoker;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvocationBenchmark {
+    @Param({"0", "2", "5"})
+    int arguments;
+
+    Controller controller;
+    Object[] values;
+    HandlerInvoker reflective;
+    HandlerInvoker methodHandle;
+    HandlerInvoker lambda;
+
+    @Setup
+    public void setup() throws Throwable {
+        controller = new Controller();
+        Method method;
+        switch (arguments) {
+            case 0 -> {
+                method = Controller.class.getMethod("zero");
+                values = new Object[0];
+                Invoker0 invoker = (Invoker0) createLambda(Invoker0.class, method);
+                lambda = (instance, args) -> invoker.invoke(instance);
+            }
+            case 2 -> {
+                method = Controller.class.getMethod("two", String.class, Integer.class);
+                values = new Object[] { "a", 2 };
+                Invoker2 invoker = (Invoker2) createLambda(Invoker2.class, method);
+                lambda = (instance, args) -> invoker.invoke(instance, args[0], args[1]);
+            }
+            default -> {
+                method = Controller.class.getMethod("five", String.class, Integer.class, String.class, Long.class, String.class);
+                values = new Object[] { "a", 2, "c", 4L, "e" };
+                Invoker5 invoker = (Invoker5) createLambda(Invoker5.class, method);
+                lambda = (instance, args) -> invoker.invoke(instance, args[0], args[1], args[2], args[3], args[4]);
+            }
+        }
+        reflective = new ReflectiveInvoker(method);
+        methodHandle = new MethodHandleInvoker(method);
+    }
+
+    private static Object createLambda(Class<?> functionalInterface, Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle implementation = lookup.unreflect(method);
+        Method sam = functionalInterface.getMethods()[0];
+        MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, sam.getName(), MethodType.methodType(functionalInterface),
+                samType, implementation, implementation.type());
+        return callSite.getTarget().invoke();
+    }
+
+    @Benchmark
+    public Object reflective() throws Exception {
+        return reflective.invoke(controller, values);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Exception {
+        return methodHandle.invoke(controller, values);
+    }
+
+    @Benchmark
+    public Object lambdaMetafactory() throws Exception {
+        return lambda.invoke(controller, values);
+    }
+
+    public interface Invoker0 {
+        Object invoke(Object instance);
+    }
+
+    public interface Invoker2 {
+        Object invoke(Object instance, Object a, Object b);
+    }
+
+    public interface Invoker5 {
+        Object invoke(Object instance, Object a, Object b, Object c, Object d, Object e);
+    }
+
+    public static class Controller {
+        public String zero() {
+            return "zero";
+        }
+
+        public String two(String a, Integer b) {
+            return a;
+        }
+
+        public String five(String a, Integer b, String c, Long d, String e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.Benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.example.ResponseEntity;
+import org.example.SerializerRegistry;
+import org.example.Utf8Writer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEntityBenchmark {
+    @Param({"100", "10000"})
+    int rows;
+
+    SerializerRegistry serializerRegistry;
+    List<Row> body;
+    OutputStream outputStream;
+
+    @Setup
+    public void setup() {
+        serializerRegistry = new SerializerRegistry();
+        body = new ArrayList<>();
+        for (int i = 0; i < rows; i++)
+            body.add(new Row(i, "title " + i, "body of post number " + i));
+        outputStream = OutputStream.nullOutputStream();
+    }
+
+    @Benchmark
+    public void jsonString() {
+        String json = new Gson().toJson(body);
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(json);
+        writer.flush();
+    }
+
+    @Benchmark
+    public void jsonStream() throws IOException {
+        ResponseEntity<List<Row>> responseEntity = new ResponseEntity<>(body, 200);
+        responseEntity.writeEntity(serializerRegistry.getAdapter(body.getClass()), new JsonWriter(new Utf8Writer(outputStream)));
+    }
+
+    public static class Row {
+        long id;
+        String title;
+        String body;
+
+        Row(long id, String title, String body) {
+            this.id = id;
+            this.title = title;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.Benchmarks;
+
+import org.example.MethodMapping;
+import org.example.Resolvers.ArgumentResolver;
+import org.example.Routing.PathRouter;
+import org.example.Routing.RouteMatch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+    @Param({"10", "100", "1000"})
+    int routes;
+
+    List<Pattern> patterns;
+    List<MethodMapping> patternMappings;
+    PathRouter<MethodMapping> router;
+    String[] urls;
+    int next;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        MethodMapping methodMapping = new MethodMapping("GET /api", Controller.class, Controller.class.getMethod("handle"), true, new ArgumentResolver[0], null, null, null);
+        patterns = new ArrayList<>();
+        patternMappings = new ArrayList<>();
+        router = new PathRouter<>();
+        for (int i = 0; i < routes; i++) {
+            String template = "/api/resource" + i + "/{id}/items/{itemId}";
+            patterns.add(Pattern.compile(template.replaceAll("\\{[^/}]+}", "([^\\\\/]+)")));
+            patternMappings.add(methodMapping);
+            router.addRoute("GET", template, methodMapping);
+        }
+
+        urls = new String[64];
+        for (int i = 0; i < urls.length; i++)
+            urls[i] = "/api/resource" + (i * 7919 % routes) + "/" + i + "/items/" + (i * 31);
+    }
+
+    @Benchmark
+    public MethodMapping regexList() {
+        String url = urls[next++ & 63];
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).matcher(url).matches())
+                return patternMappings.get(i);
+        }
+        return null;
+    }
+
+    @Benchmark
+    public RouteMatch<MethodMapping> pathRouter() {
+        return router.match("GET", urls[next++ & 63]);
+    }
+
+    public static class Controller {
+        public String handle() {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.Benchmarks;
+
+import org.example.Annotations.Component;
+import org.example.Annotations.RestController;
+import org.example.Scanning.ClassPathScanner;
+import org.example.Scanning.ComponentIndex;
+import org.openjdk.jmh.annotations.*;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+    private static final int CLASSES_PER_PACKAGE = 100;
+
+    @Param({"5000"})
+    int classes;
+
+    Path root;
+    Path classesDirectory;
+    URLClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void generateProject() throws IOException {
+        root = Files.createTempDirectory("synthetic-project");
+        Path sourcesDirectory = root.resolve("src");
+        classesDirectory = Files.createDirectories(root.resolve("classes"));
+
+        List<String> arguments = new ArrayList<>(List.of(
+                "-d", classesDirectory.toString(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", "org.example.Scanning.ComponentIndexProcessor",
+                "-nowarn"));
+        for (int i = 0; i < classes; i++) {
+            String packageName = "synthetic.module" + (i / CLASSES_PER_PACKAGE);
+            String className = "Type" + i;
+            Path source = sourcesDirectory.resolve(packageName.replace('.', '/')).resolve(className + ".java");
+            Files.createDirectories(source.getParent());
+            Files.writeString(source, generateSource(packageName, className, i));
+            arguments.add(source.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0)
+            throw new IllegalStateException("Could not compile the synthetic project");
+    }
+
+    private static String generateSource(String packageName, String className, int i) {
+        String annotation = "";
+        if (i % 100 == 0)
+            annotation = "@org.example.Annotations.RestController\n";
+        else if (i % 20 == 0)
+            annotation = "@org.example.Annotations.Component\n";
+
+        return "package " + packageName + ";\n\n" +
+                annotation +
+                "public class " + className + " {\n" +
+                "    private long id;\n" +
+                "    private String name;\n" +
+                "    public long getId() { return id; }\n" +
+                "    public void setId(long id) { this.id = id; }\n" +
+                "    public String getName() { return name; }\n" +
+                "    public void setName(String name) { this.name = name; }\n" +
+                "}\n";
+    }
+
+    @Setup(Level.Invocation)
+    public void createClassLoader() throws IOException {
+        classLoader = new URLClassLoader(new URL[] { classesDirectory.toUri().toURL() }, StartupBenchmark.class.getClassLoader());
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeClassLoader() throws IOException {
+        classLoader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteProject() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<Class<?>> reflectiveScan() throws Exception {
+        List<Class<?>> classes = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(classesDirectory)) {
+            for (Path file : (Iterable<Path>) paths::iterator) {
+                String fileName = classesDirectory.relativize(file).toString();
+                if (fileName.endsWith(".class"))
+                    classes.add(classLoader.loadClass(fileName.substring(0, fileName.length() - 6).replace('/', '.')));
+            }
+        }
+        return components(classes);
+    }
+
+    @Benchmark
+    public List<Class<?>> bytecodeScan() throws Exception {
+        return components(ClassPathScanner.loadClasses(classesDirectory, classLoader));
+    }
+
+    @Benchmark
+    public List<Class<?>> componentIndex() throws Exception {
+        return components(ComponentIndex.loadClasses(ComponentIndex.read(classLoader), classLoader));
+    }
+
+    private static List<Class<?>> components(List<Class<?>> classes) {
+        List<Class<?>> components = new ArrayList<>();
+        for (Class<?> clazz : classes) {
+            if (clazz.isAnnotationPresent(Component.class) || clazz.isAnnotationPresent(RestController.class))
+                components.add(clazz);
+        }
+        return components;
+    }
+}
@@ -0,0 +1,116 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class AccessLog implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private final int mask;
+    private final String[] routes;
+    private final int[] statuses;
+    private final long[] timestamps;
+    private final long[] latencies;
+    private final long[] bytes;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Writer writer;
+    private final Thread flusher;
+    private volatile long consumed;
+    private volatile boolean running = true;
+
+    public AccessLog(Writer writer, int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.routes = new String[size];
+        this.statuses = new int[size];
+        this.timestamps = new long[size];
+        this.latencies = new long[size];
+        this.bytes = new long[size];
+        this.published = new AtomicLongArray(size);
+        this.writer = writer;
+        this.flusher = new Thread(this::flushLoop, "access-log-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public void log(String route, int status, long latencyNanos, long bytesWritten) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed > mask) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        routes[slot] = route;
+        statuses[slot] = status;
+        timestamps[slot] = System.currentTimeMillis();
+        latencies[slot] = latencyNanos;
+        bytes[slot] = bytesWritten;
+        published.lazySet(slot, sequence + 1);
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void flushLoop() {
+        StringBuilder line = new StringBuilder(128);
+        boolean unflushed = false;
+        while (running || consumed < claimed.get()) {
+            long sequence = consumed;
+            int slot = (int) sequence & mask;
+            if (published.get(slot) != sequence + 1) {
+                if (unflushed) {
+                    flushWriter();
+                    unflushed = false;
+                }
+                if (running)
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                else if (sequence < claimed.get())
+                    Thread.onSpinWait();
+                continue;
+            }
+
+            line.setLength(0);
+            line.append(Instant.ofEpochMilli(timestamps[slot])).append(' ')
+                    .append(routes[slot]).append(' ')
+                    .append(statuses[slot]).append(' ')
+                    .append(TimeUnit.NANOSECONDS.toMicros(latencies[slot])).append("us ")
+                    .append(bytes[slot]).append('B')
+                    .append(System.lineSeparator());
+            routes[slot] = null;
+            consumed = sequence + 1;
+            try {
+                writer.append(line);
+                unflushed = true;
+            } catch (IOException e) {
+                dropped.increment();
+            }
+        }
+        flushWriter();
+    }
+
+    private void flushWriter() {
+        try {
+            writer.flush();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join();
+    }
+}
@@ -1,40 +1,86 @@
 package org.example.Adapters;
 
+import org.example.AnnotationApplicationContext;
 import org.example.Annotations.Component;
 import org.example.Annotations.Controller;
 import org.example.Annotations.Mappings.*;
+import org.example.Annotations.PathVariable;
+import org.example.Annotations.RequestBody;
+import org.example.Annotations.RequestParam;
 import org.example.Annotations.ResponseBody;
 import org.example.Annotations.RestController;
+import org.example.ControllerProvider;
+import org.example.DependencyInjector.Annotations.Prototype;
+import org.example.Invokers.HandlerInvoker;
+import org.example.Invokers.MethodHandleInvoker;
+import org.example.Invokers.ReflectiveInvoker;
+import org.example.Metrics.MetricsRegistry;
 import org.example.MethodMapping;
-import org.example.RegexMethodMapping;
+import org.example.Resolvers.*;
 import org.example.ResponseEntity;
+import org.example.Routing.PathRouter;
+import org.example.Routing.RouteMatch;
+import org.example.SerializerRegistry;
 
+import javax.servlet.ServletException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class ControllersAdapter {
     List<Class<?>> controllers = new ArrayList<>();
     public Map<String, MethodMapping> methodMappings = new HashMap<>();
-    public List<RegexMethodMapping> regexMethodMappings = new ArrayList<>();
-    private static final Pattern PATH_VARIABLE_PATTERN = Pattern.compile("(\\{(.+)})");
-
-    public ControllersAdapter(List<Class<?>> components) throws NoSuchMethodException {
-        registerControllers(components);
+    public List<MethodMapping> templateMethodMappings = new ArrayList<>();
+    PathRouter<MethodMapping> router = new PathRouter<>();
+    private static final String[] NO_PATH_VARIABLES = new String[0];
+    private static final String DEFAULT_MAX_REQUEST_BODY_SIZE = "10485760";
+    private static final Pattern PATH_VARIABLE_PATTERN = Pattern.compile("\\{([^/}]+)}");
+
+    private final AnnotationApplicationContext applicationContext;
+    private final boolean reflectiveInvocation;
+    private final SerializerRegistry serializerRegistry;
+    private final MetricsRegistry metricsRegistry;
+    private final long maxRequestBodySize;
+
+    public ControllersAdapter(AnnotationApplicationContext applicationContext) throws NoSuchMethodException, ServletException {
+        this.applicationContext = applicationContext;
+        this.reflectiveInvocation = "reflective".equals(applicationContext.getProperty("dispatcher.invocation", "methodHandle"));
+        this.serializerRegistry = applicationContext.getSerializerRegistry();
+        this.metricsRegistry = applicationContext.getMetricsRegistry();
+        this.maxRequestBodySize = Long.parseLong(applicationContext.getProperty("dispatcher.maxRequestBodySize", DEFAULT_MAX_REQUEST_BODY_SIZE));
+        registerControllers(applicationContext.getClasses());
     }
 
-    public MethodMapping getMethodMapping(String url, String method) {
+    public RouteMatch<MethodMapping> getMethodMapping(String url, String method) {
         MethodMapping methodMapping = methodMappings.get(url + " " + method);
         if (methodMapping != null)
-            return methodMapping;
-        return getRegexMethodMapping(url, method);
+            return new RouteMatch<>(methodMapping, NO_PATH_VARIABLES);
+        return router.match(method, url);
     }
 
-    private void registerControllers(List<Class<?>> components) throws NoSuchMethodException {
+    public void bindControllers() throws Exception {
+        List<MethodMapping> mappings = new ArrayList<>(methodMappings.values());
+        mappings.addAll(templateMethodMappings);
+        for (MethodMapping methodMapping : mappings) {
+            Class<?> controller = methodMapping.getController();
+            if (!controller.isAnnotationPresent(Prototype.class))
+                methodMapping.bindInstance(applicationContext.getInstance(controller));
+        }
+    }
+
+    private ControllerProvider createControllerProvider(Class<?> controllerClass) {
+        if (controllerClass.isAnnotationPresent(Prototype.class))
+            return () -> applicationContext.newInstance(controllerClass);
+        return () -> applicationContext.getInstance(controllerClass);
+    }
+
+    private void registerControllers(List<Class<?>> components) throws NoSuchMethodException, ServletException {
         for (Class<?> clazz : components) {
             RestController restController = clazz.getAnnotation(RestController.class);
             Controller controller = clazz.getAnnotation(Controller.class);
@@ -64,7 +110,7 @@ public class ControllersAdapter {
         }
     }
 
-    private void registerController(Class<?> controllerClass, Class<?> annotatedClass, boolean isResponseBody) throws NoSuchMethodException {
+    private void registerController(Class<?> controllerClass, Class<?> annotatedClass, boolean isResponseBody) throws NoSuchMethodException, ServletException {
         controllers.add(controllerClass);
 
         RequestMapping requestMapping = annotatedClass.getAnnotation(RequestMapping.class);
@@ -73,6 +119,8 @@ public class ControllersAdapter {
             controllerPath = requestMapping.value();
         Method[] methods = controllerClass.getDeclaredMethods();
         for (Method method : methods) {
+            if (!Modifier.isPublic(method.getModifiers()))
+                continue;
             String methodName = method.getName();
             Class<?>[] parameterTypes = method.getParameterTypes();
             Method annotatedMethod = annotatedClass.getMethod(methodName, parameterTypes);
@@ -80,60 +128,101 @@ public class ControllersAdapter {
             ResponseBody responseBody = annotatedMethod.getAnnotation(ResponseBody.class);
             if (responseBody != null || method.getReturnType().equals(ResponseEntity.class))
                 isResponseBody = true;
-            MethodMapping methodMapping = new MethodMapping(controllerClass, method, isResponseBody);
 
-            String path = getPathFromMethod(annotatedMethod, methodMapping);
+            String path = getPathFromMethod(annotatedMethod);
             if (path == null)
                 continue;
-            if (!isRegex(path))
+            String[] pathAndMethod = path.split(" ");
+            String template = controllerPath + pathAndMethod[0];
+            ArgumentResolver[] argumentResolvers = createArgumentResolvers(method, pathAndMethod[1], findPathVariables(template));
+            MethodMapping methodMapping = new MethodMapping(pathAndMethod[1] + " " + template, controllerClass, method, isResponseBody, argumentResolvers, createInvoker(method), createRequestBodyReader(method), serializerRegistry);
+            methodMapping.bindProvider(createControllerProvider(controllerClass));
+            metricsRegistry.registerRouteTimer(methodMapping.getTimer());
+            if (!isTemplate(path))
                 methodMappings.put(controllerPath + path, methodMapping);
             else {
-                RegexMethodMapping regexMethodMapping = new RegexMethodMapping(methodMapping);
-                String[] pathAndMethod = path.split(" ");
-                regexMethodMapping.setPattern(controllerPath + pathAndMethod[0]);
-                regexMethodMapping.setMethod(pathAndMethod[1]);
-                regexMethodMappings.add(regexMethodMapping);
+                router.addRoute(pathAndMethod[1], template, methodMapping);
+                templateMethodMappings.add(methodMapping);
+            }
+        }
+    }
+
+    private ArgumentResolver[] createArgumentResolvers(Method method, String httpMethod, List<String> pathVariables) throws ServletException {
+        Parameter[] parameters = method.getParameters();
+        ArgumentResolver[] argumentResolvers = new ArgumentResolver[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            if (parameter.getAnnotation(RequestBody.class) != null) {
+                if (httpMethod.equals("GET") || httpMethod.equals("DELETE"))
+                    throw new ServletException("Request body not supported on GET and DELETE methods!");
+                argumentResolvers[i] = new RequestBodyResolver();
+                continue;
+            }
+
+            if (parameter.getAnnotation(RequestParam.class) != null) {
+                argumentResolvers[i] = new RequestParamResolver(parameter.getName(), ValueConverters.forType(parameter.getType()));
+                continue;
+            }
+
+            if (parameter.getAnnotation(PathVariable.class) != null) {
+                int index = pathVariables.indexOf(parameter.getName());
+                if (index < 0)
+                    throw new ServletException("Method parameter \"" + parameter.getName() + "\" was not found in the request!");
+                argumentResolvers[i] = new PathVariableResolver(index, ValueConverters.forType(parameter.getType()));
+                continue;
             }
+
+            argumentResolvers[i] = context -> null;
+        }
+        return argumentResolvers;
+    }
+
+    private RequestBodyReader createRequestBodyReader(Method method) {
+        for (Parameter parameter : method.getParameters()) {
+            RequestBody requestBody = parameter.getAnnotation(RequestBody.class);
+            if (requestBody == null)
+                continue;
+            long maxSize = requestBody.maxSize() >= 0 ? requestBody.maxSize() : maxRequestBodySize;
+            return new RequestBodyReader(serializerRegistry, serializerRegistry.getAdapter(parameter.getParameterizedType()), maxSize);
+        }
+        return null;
+    }
+
+    private HandlerInvoker createInvoker(Method method) throws ServletException {
+        if (reflectiveInvocation)
+            return new ReflectiveInvoker(method);
+        try {
+            return new MethodHandleInvoker(method);
+        } catch (IllegalAccessException e) {
+            throw new ServletException(e);
         }
     }
 
-    private boolean isRegex(String path) {
-        return path.contains("[");
+    private List<String> findPathVariables(String template) {
+        List<String> pathVariables = new ArrayList<>();
+        Matcher matcher = PATH_VARIABLE_PATTERN.matcher(template);
+        while (matcher.find())
+            pathVariables.add(matcher.group(1));
+        return pathVariables;
     }
 
-    private String getPathFromMethod(Method method, MethodMapping methodMapping) {
+    private boolean isTemplate(String path) {
+        return path.contains("{") || path.contains("*");
+    }
+
+    private String getPathFromMethod(Method method) {
         GetMapping getMapping = method.getAnnotation(GetMapping.class);
-        if (getMapping != null) return createRegex(getMapping.value(), methodMapping) + " GET";
+        if (getMapping != null) return getMapping.value() + " GET";
 
         PostMapping postMapping = method.getAnnotation(PostMapping.class);
-        if (postMapping != null) return createRegex(postMapping.value(), methodMapping) + " POST";
+        if (postMapping != null) return postMapping.value() + " POST";
 
         PutMapping putMapping = method.getAnnotation(PutMapping.class);
-        if (putMapping != null) return createRegex(putMapping.value(), methodMapping) + " PUT";
+        if (putMapping != null) return putMapping.value() + " PUT";
 
         DeleteMapping deleteMapping = method.getAnnotation(DeleteMapping.class);
-        if (deleteMapping != null) return createRegex(deleteMapping.value(), methodMapping) + " DELETE";
-
-        return null;
-    }
+        if (deleteMapping != null) return deleteMapping.value() + " DELETE";
 
-    private String createRegex(String path, MethodMapping methodMapping) {
-        path = path.replace("*", "[^\\/]+");
-        AtomicInteger i = new AtomicInteger(1);
-        String finalPath = path;
-        return PATH_VARIABLE_PATTERN.matcher(finalPath).replaceAll(matchResult -> {
-            String parameterName = finalPath.substring(matchResult.start() + 1, matchResult.end() - 1);
-            methodMapping.addParameter(parameterName, i.getAndIncrement());
-            return "([^\\/]+)";
-        });
-    }
-
-    private MethodMapping getRegexMethodMapping(String url, String method) {
-        for (RegexMethodMapping regexMethodMapping : regexMethodMappings) {
-            if (regexMethodMapping.isMatchingUrl(url, method)) {
-                return regexMethodMapping;
-            }
-        }
         return null;
     }
 }
@@ -1,46 +1,69 @@
 package org.example.Adapters;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.binding.BindingException;
 import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
 import org.example.AnnotationApplicationContext;
+import org.example.Annotations.Batch;
+import org.example.Annotations.Transactional;
 import org.example.DependencyInjector.Annotations.Inject;
-import org.example.SpringApplication;
+import org.example.HandlerInterceptor;
+import org.example.Metrics.MetricsRegistry;
+import org.example.Metrics.Timer;
+import org.example.MethodMapping;
 
-import java.io.IOException;
-import java.io.InputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MyBatisAdapter {
     Configuration configuration;
     SqlSessionFactory sqlSessionFactory;
     AnnotationApplicationContext applicationContext;
+    MetricsRegistry metricsRegistry;
+    SqlSessionContext sqlSessionContext;
 
     @Inject
     public MyBatisAdapter(AnnotationApplicationContext applicationContext) throws Exception {
         this.applicationContext = applicationContext;
-        this.configuration = createMyBatisConfig();
+        this.metricsRegistry = applicationContext.getMetricsRegistry();
+        this.configuration = createMyBatisConfig(applicationContext.getProperties());
         this.sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        ExecutorType executorType = ExecutorType.valueOf(applicationContext.getProperty("mybatis.executorType", ExecutorType.REUSE.name()).trim().toUpperCase(Locale.ROOT));
+        this.sqlSessionContext = new SqlSessionContext(sqlSessionFactory, executorType);
+        applicationContext.registerInstance(SqlSessionContext.class, sqlSessionContext);
+        applicationContext.registerInterceptor(Transactional.class, sqlSessionContext);
+        if (Boolean.parseBoolean(applicationContext.getProperty("mybatis.requestScopedSession", "true")))
+            applicationContext.addHandlerInterceptor(new RequestSessionInterceptor());
         initializeMappers();
     }
 
-    private Configuration createMyBatisConfig() throws IOException {
-        Properties properties = new Properties();
-        InputStream inputStream = SpringApplication.class.getClassLoader().getResourceAsStream("application.properties");
-        properties.load(inputStream);
+    private Configuration createMyBatisConfig(Properties properties) {
         String url = properties.getProperty("url");
         String username = properties.getProperty("username");
         String password = properties.getProperty("password");
-        String driver = "com.mysql.jdbc.Driver";
+        String driver = properties.getProperty("driver", "com.mysql.jdbc.Driver");
         PooledDataSource pooledDataSource = new PooledDataSource();
         pooledDataSource.setUrl(url);
         pooledDataSource.setUsername(username);
@@ -73,16 +96,137 @@ public class MyBatisAdapter {
 
     private class MapperHandler implements InvocationHandler {
         private Class<?> mapperClass;
+        private final Map<Method, MapperCall> calls = new ConcurrentHashMap<>();
         MapperHandler(Class<?> mapperClass) {
             this.mapperClass = mapperClass;
+            for (Method method : mapperClass.getMethods()) {
+                if (method.isAnnotationPresent(Batch.class))
+                    calls.put(method, new MapperCall(mapperClass, method));
+            }
         }
 
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            SqlSession session = sqlSessionFactory.openSession(true);
-            Object mapper = session.getMapper(mapperClass);
-            Object result = method.invoke(mapper, args);
-            session.close();
-            return result;
+            MapperCall call = calls.get(method);
+            if (call == null)
+                call = calls.computeIfAbsent(method, m -> new MapperCall(mapperClass, m));
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = call.batch != null ? invokeBatch(call, args[0]) : invokeMapper(method, args, call);
+                failed = false;
+                return result;
+            } finally {
+                call.timer.record(System.nanoTime() - start, failed);
+            }
+        }
+
+        private Object invokeMapper(Method method, Object[] args, MapperCall call) throws Throwable {
+            SqlSession boundSession = sqlSessionContext.getSession();
+            SqlSession session = boundSession != null ? boundSession : sqlSessionFactory.openSession(true);
+            try {
+                Object mapper = session.getMapper(mapperClass);
+                Object result = method.invoke(mapper, args);
+                if (call.write && sqlSessionContext.isBatchActive())
+                    sqlSessionContext.statementQueued();
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (boundSession == null)
+                    session.close();
+            }
+        }
+
+        private Object invokeBatch(MapperCall call, Object parameters) throws Exception {
+            if (parameters == null)
+                throw new IllegalArgumentException("Batch mapper method " + call.statementId + " was called with a null collection or array");
+            List<?> elements = parameters instanceof Collection ? new ArrayList<>((Collection<?>) parameters) : Arrays.asList((Object[]) parameters);
+            if (sqlSessionContext.isBatchActive()) {
+                queue(call, elements);
+                int[] updateCounts = new int[elements.size()];
+                Arrays.fill(updateCounts, BatchExecutor.BATCH_UPDATE_RETURN_VALUE);
+                return call.toResult(updateCounts);
+            }
+
+            List<BatchResult> results = sqlSessionContext.inBatch(call.batch.flushEvery(), () -> {
+                queue(call, elements);
+                return null;
+            });
+            return call.toResult(results.stream().flatMapToInt(result -> Arrays.stream(result.getUpdateCounts())).toArray());
+        }
+
+        private void queue(MapperCall call, List<?> elements) {
+            SqlSession session = sqlSessionContext.getSession();
+            for (Object element : elements) {
+                session.update(call.statementId, element);
+                sqlSessionContext.statementQueued();
+            }
+        }
+    }
+
+    private class MapperCall {
+        final Timer timer;
+        final String statementId;
+        final boolean write;
+        final Batch batch;
+        final Class<?> returnType;
+
+        MapperCall(Class<?> mapperClass, Method method) {
+            this.timer = metricsRegistry.mapperTimer(mapperClass.getSimpleName() + "." + method.getName());
+            this.statementId = mapperClass.getName() + "." + method.getName();
+            SqlCommandType commandType = configuration.hasStatement(statementId, false) ? configuration.getMappedStatement(statementId, false).getSqlCommandType() : SqlCommandType.UNKNOWN;
+            this.write = commandType == SqlCommandType.INSERT || commandType == SqlCommandType.UPDATE || commandType == SqlCommandType.DELETE;
+            this.batch = method.getAnnotation(Batch.class);
+            this.returnType = method.getReturnType();
+            if (batch == null)
+                return;
+
+            String name = mapperClass.getSimpleName() + "." + method.getName();
+            if (!write)
+                throw new BindingException("@Batch mapper method " + name + " must be an insert, update or delete statement");
+            if (batch.flushEvery() < 1)
+                throw new BindingException("@Batch mapper method " + name + " must flush after a positive number of statements");
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            if (parameterTypes.length != 1 || !(Collection.class.isAssignableFrom(parameterTypes[0]) || (parameterTypes[0].isArray() && !parameterTypes[0].getComponentType().isPrimitive())))
+                throw new BindingException("@Batch mapper method " + name + " must take a single collection or object array parameter");
+            if (returnType != void.class && returnType != int.class && returnType != int[].class)
+                throw new BindingException("@Batch mapper method " + name + " must return void, int or int[]");
+        }
+
+        Object toResult(int[] updateCounts) {
+            if (returnType == int[].class)
+                return updateCounts;
+            if (returnType == int.class) {
+                int total = 0;
+                for (int updateCount : updateCounts)
+                    total += updateCount;
+                return total;
+            }
+            return null;
+        }
+    }
+
+    private class RequestSessionInterceptor implements HandlerInterceptor {
+        private final String scopeAttribute = RequestSessionInterceptor.class.getName() + ".scope";
+
+        @Override
+        public void preHandle(HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping) {
+            req.setAttribute(scopeAttribute, sqlSessionContext.begin(false));
+        }
+
+        @Override
+        public void afterAsyncStarted(HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping) {
+            afterCompletion(req, resp, methodMapping, null);
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping, Throwable failure) {
+            SqlSessionContext.Scope scope = (SqlSessionContext.Scope) req.getAttribute(scopeAttribute);
+            if (scope == null)
+                return;
+            req.removeAttribute(scopeAttribute);
+            sqlSessionContext.end(scope, failure);
         }
     }
 }
\ No newline at end of file
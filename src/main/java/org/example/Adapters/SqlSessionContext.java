@@ -0,0 +1,227 @@
+package org.example.Adapters;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
+import org.example.DependencyInjector.AsyncSupport;
+import org.example.DependencyInjector.Interceptor;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public class SqlSessionContext implements Interceptor {
+    private final SqlSessionFactory sqlSessionFactory;
+    private final ExecutorType executorType;
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    public SqlSessionContext(SqlSessionFactory sqlSessionFactory, ExecutorType executorType) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.executorType = executorType;
+    }
+
+    public <T> T inSession(Callable<T> work) throws Exception {
+        return execute(false, work);
+    }
+
+    public <T> T inTransaction(Callable<T> work) throws Exception {
+        return execute(true, work);
+    }
+
+    public List<BatchResult> inBatch(int flushEvery, Callable<?> work) throws Exception {
+        if (flushEvery < 1)
+            throw new IllegalArgumentException("Batch flush interval must be positive, got " + flushEvery);
+
+        Scope scope = currentScope.get();
+        if (scope != null && scope.flushEvery > 0)
+            scope.depth++;
+        else {
+            scope = new Scope(scope, true, flushEvery);
+            currentScope.set(scope);
+        }
+        int resultsBefore = scope.results.size();
+        Throwable failure = null;
+        try {
+            work.call();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            end(scope, failure);
+        }
+        return List.copyOf(scope.results.subList(resultsBefore, scope.results.size()));
+    }
+
+    @Override
+    public Object intercept(Method method, AsyncSupport.Invocation invocation) throws Throwable {
+        Scope scope = begin(true);
+        Throwable failure = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            end(scope, failure);
+        }
+    }
+
+    public SqlSession getSession() {
+        Scope scope = currentScope.get();
+        return scope == null ? null : scope.getSession();
+    }
+
+    public boolean isTransactionActive() {
+        Scope scope = currentScope.get();
+        return scope != null && scope.transactional;
+    }
+
+    public boolean isBatchActive() {
+        Scope scope = currentScope.get();
+        return scope != null && scope.flushEvery > 0;
+    }
+
+    void statementQueued() {
+        Scope scope = currentScope.get();
+        if (scope != null && scope.flushEvery > 0 && ++scope.pending >= scope.flushEvery)
+            scope.flush();
+    }
+
+    private <T> T execute(boolean transactional, Callable<T> work) throws Exception {
+        Scope scope = begin(transactional);
+        Throwable failure = null;
+        try {
+            return work.call();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            end(scope, failure);
+        }
+    }
+
+    Scope begin(boolean transactional) {
+        Scope scope = currentScope.get();
+        if (scope != null && (scope.transactional || !transactional)) {
+            scope.depth++;
+            return scope;
+        }
+
+        scope = new Scope(scope, transactional, 0);
+        currentScope.set(scope);
+        return scope;
+    }
+
+    void end(Scope scope, Throwable failure) {
+        if (failure != null)
+            scope.rollbackOnly = true;
+        if (scope.depth > 0) {
+            scope.depth--;
+            return;
+        }
+
+        if (scope.parent == null)
+            currentScope.remove();
+        else
+            currentScope.set(scope.parent);
+        scope.close();
+    }
+
+    final class Scope {
+        final Scope parent;
+        final boolean transactional;
+        final int flushEvery;
+        final boolean joined;
+        final List<BatchResult> results = new ArrayList<>();
+        int depth;
+        int pending;
+        boolean rollbackOnly;
+        SqlSession session;
+
+        Scope(Scope parent, boolean transactional, int flushEvery) {
+            this.parent = parent;
+            this.transactional = transactional;
+            this.flushEvery = flushEvery;
+            this.joined = parent != null && parent.transactional && flushEvery > 0;
+        }
+
+        SqlSession getSession() {
+            if (session == null && joined)
+                session = new DefaultSqlSession(sqlSessionFactory.getConfiguration(),
+                        sqlSessionFactory.getConfiguration().newExecutor(new JoinedTransaction(parent.getSession().getConnection()), ExecutorType.BATCH), false);
+            else if (session == null)
+                session = sqlSessionFactory.openSession(flushEvery > 0 ? ExecutorType.BATCH : executorType, !transactional);
+            return session;
+        }
+
+        void flush() {
+            pending = 0;
+            if (session != null)
+                results.addAll(session.flushStatements());
+        }
+
+        void close() {
+            if (joined && rollbackOnly)
+                parent.rollbackOnly = true;
+            if (session == null)
+                return;
+            try {
+                if (joined) {
+                    if (!rollbackOnly)
+                        flush();
+                } else if (transactional) {
+                    if (rollbackOnly) {
+                        session.rollback(true);
+                    } else {
+                        if (flushEvery > 0)
+                            flush();
+                        session.commit(true);
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (joined)
+                    parent.rollbackOnly = true;
+                throw e;
+            } finally {
+                session.close();
+                if (joined)
+                    parent.session.clearCache();
+            }
+        }
+    }
+
+    private static final class JoinedTransaction implements Transaction {
+        private final Connection connection;
+
+        JoinedTransaction(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Connection getConnection() {
+            return connection;
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public Integer getTimeout() {
+            return null;
+        }
+    }
+}
@@ -2,37 +2,52 @@ package org.example.Adapters;
 
 import org.apache.catalina.Context;
 import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
 import org.apache.catalina.startup.Tomcat;
 import org.example.AnnotationApplicationContext;
+import org.example.ContextRefreshedEvent;
+import org.example.DependencyInjector.Annotations.EventListener;
 import org.example.DependencyInjector.Annotations.Inject;
 import org.example.DispatcherServlet;
 
+import javax.servlet.ServletException;
 import java.io.File;
+import java.io.IOException;
 
 public class TomcatAdapter {
     Tomcat tomcat;
+    ControllersAdapter controllersAdapter;
     AnnotationApplicationContext applicationContext;
 
     @Inject
-    public TomcatAdapter(AnnotationApplicationContext applicationContext) throws NoSuchMethodException, LifecycleException {
+    public TomcatAdapter(AnnotationApplicationContext applicationContext) throws NoSuchMethodException, ServletException, IOException {
         this.applicationContext = applicationContext;
         this.tomcat = new Tomcat();
         initialize();
+    }
+
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) throws Exception {
+        controllersAdapter.bindControllers();
         start();
     }
 
-    public void initialize() throws NoSuchMethodException {
+    public void initialize() throws NoSuchMethodException, ServletException, IOException {
         String docBase = new File(".").getAbsolutePath();
         Context context = tomcat.addContext("", docBase);
         System.out.println(applicationContext.getClasses());
-        ControllersAdapter controllersAdapter = new ControllersAdapter(applicationContext.getClasses());
+        controllersAdapter = new ControllersAdapter(applicationContext);
         DispatcherServlet dispatcherServlet = new DispatcherServlet(controllersAdapter, applicationContext);
-        Tomcat.addServlet(context, "DispatcherServlet", dispatcherServlet);
+        Wrapper wrapper = Tomcat.addServlet(context, "DispatcherServlet", dispatcherServlet);
+        wrapper.setAsyncSupported(true);
         context.addServletMappingDecoded("/*", "DispatcherServlet");
     }
 
     public void start() throws LifecycleException {
         tomcat.start();
+    }
+
+    public void await() {
         tomcat.getServer().await();
     }
 }
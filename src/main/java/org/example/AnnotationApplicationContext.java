@@ -1,23 +1,38 @@
 package org.example;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
 import org.example.Annotations.*;
+import org.example.DependencyInjector.ApplicationEventPublisher;
+import org.example.DependencyInjector.Annotations.Prototype;
 import org.example.DependencyInjector.Container;
+import org.example.DependencyInjector.ContainerException;
+import org.example.DependencyInjector.DependencyGraph;
+import org.example.DependencyInjector.Interceptor;
+import org.example.DependencyInjector.Listener;
+import org.example.Metrics.MetricsRegistry;
+import org.example.Scanning.ClassPathScanner;
+import org.example.Scanning.ComponentIndex;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Files;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.URISyntaxException;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class AnnotationApplicationContext {
@@ -25,20 +40,77 @@ public class AnnotationApplicationContext {
     Container container;
     List<Class<?>> classes;
     List<Class<?>> components = new ArrayList<>();
+    Properties properties;
+    SerializerRegistry serializerRegistry = new SerializerRegistry();
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    ApplicationEventPublisher applicationEventPublisher;
+    List<HandlerInterceptor> handlerInterceptors = new CopyOnWriteArrayList<>();
     public AnnotationApplicationContext(Class<?> applicationClass) throws Exception {
-        container = new Container(applicationClass);
-        this.classes = loadClasses();
+        long startupStart = System.nanoTime();
+        long phaseStart = startupStart;
+        properties = loadProperties();
+        container = new Container(applicationClass, properties);
+        phaseStart = recordStartupPhase("container", phaseStart);
+        this.classes = loadClasses(applicationClass);
+        phaseStart = recordStartupPhase("classes", phaseStart);
         container.registerInstance(AnnotationApplicationContext.class, this);
+        container.registerInstance(SerializerRegistry.class, serializerRegistry);
+        container.registerInstance(MetricsRegistry.class, metricsRegistry);
+        metricsRegistry.registerExecutors(container.getThreadPoolExecutors());
+        registerSerializers();
+        phaseStart = recordStartupPhase("serializers", phaseStart);
         initializeAdapters();
+        phaseStart = recordStartupPhase("adapters", phaseStart);
         List<String> packagesToScan = loadConfigurations(applicationClass);
         packagesToScan.add(applicationClass.getPackageName());
+        phaseStart = recordStartupPhase("configurations", phaseStart);
         scan(packagesToScan);
+        phaseStart = recordStartupPhase("scan", phaseStart);
+        registerComponents();
+        phaseStart = recordStartupPhase("components", phaseStart);
+        container.freeze();
+        recordStartupPhase("freeze", phaseStart);
+        recordStartupPhase("total", startupStart);
+        applicationEventPublisher = container.getInstance(ApplicationEventPublisher.class);
+        for (Listener listener : applicationEventPublisher.getListeners()) {
+            if (listener.isAsync())
+                metricsRegistry.registerEventListener(listener.getName(), listener::getQueueDepth, listener::getDropped);
+        }
+        applicationEventPublisher.publishEvent(new ContextRefreshedEvent(this));
     }
 
-    private void initializeAdapters() throws Exception {
+    public void close() throws InterruptedException, InvocationTargetException {
+        applicationEventPublisher.close(Long.parseLong(getProperty("context.shutdownTimeout", "10000")));
+    }
+
+    public void registerShutdownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (InvocationTargetException e) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e.getCause());
+            }
+        }, "context-shutdown"));
+    }
+
+    private long recordStartupPhase(String phase, long phaseStart) {
+        long now = System.nanoTime();
+        metricsRegistry.recordStartupPhase(phase, now - phaseStart);
+        System.out.println("Startup phase " + phase + " took " + TimeUnit.NANOSECONDS.toMillis(now - phaseStart) + " ms");
+        return now;
+    }
+
+    private Properties loadProperties() throws IOException {
         Properties properties = new Properties();
         InputStream inputStream = SpringApplication.class.getClassLoader().getResourceAsStream("application.properties");
         properties.load(inputStream);
+        return properties;
+    }
+
+    private void initializeAdapters() throws Exception {
         String[] adapterClassNames = properties.getProperty("adapters").split(",");
         for (String adapterClassName : adapterClassNames) {
             Class<?> adapterClass = Class.forName(adapterClassName);
@@ -46,30 +118,48 @@ public class AnnotationApplicationContext {
         }
     }
 
-    private List<Class<?>> loadClasses() throws IOException, ClassNotFoundException {
-        List<URL> urls = new ArrayList<>();
-        List<String> classNames = new ArrayList<>();
-        Files.walkFileTree(ROOT_PATH, new SimpleFileVisitor<>() {
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                if (file.toString().endsWith(".class")) {
-                    String packagesAndClass = ROOT_PATH.relativize(file).toString().replace("\\", ".");
-                    packagesAndClass = packagesAndClass.substring(0, packagesAndClass.length() - 6);
-                    classNames.add(packagesAndClass);
-                    urls.add(file.toUri().toURL());
-                }
-                return FileVisitResult.CONTINUE;
+    private List<Class<?>> loadClasses(Class<?> applicationClass) throws IOException, ClassNotFoundException, URISyntaxException {
+        ClassLoader classLoader = applicationClass.getClassLoader();
+        CodeSource codeSource = applicationClass.getProtectionDomain().getCodeSource();
+        List<String> indexedClassNames = ComponentIndex.read(classLoader, codeSource == null ? null : codeSource.getLocation());
+        if (indexedClassNames != null) {
+            System.out.println("Loading " + indexedClassNames.size() + " classes from " + ComponentIndex.LOCATION);
+            try {
+                return ComponentIndex.loadClasses(indexedClassNames, classLoader);
+            } catch (ClassNotFoundException e) {
+                System.out.println(ComponentIndex.LOCATION + " is stale (" + e.getMessage() + " no longer exists), scanning the class path instead");
             }
-        });
+        }
+
+        return ClassPathScanner.loadClasses(findClassPathRoot(applicationClass), classLoader);
+    }
+
+    private Path findClassPathRoot(Class<?> applicationClass) throws URISyntaxException {
+        CodeSource codeSource = applicationClass.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null)
+            return ROOT_PATH;
+        return Path.of(codeSource.getLocation().toURI());
+    }
 
-        List<Class<?>> classes = new ArrayList<>();
-        URLClassLoader classLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]));
-        for (String className : classNames) {
-            Class<?> _class = classLoader.loadClass(className);
-            classes.add(_class);
+    private void registerSerializers() throws Exception {
+        for (Class<?> serializerClass : classes) {
+            if (!serializerClass.isAnnotationPresent(Component.class) || Modifier.isAbstract(serializerClass.getModifiers()))
+                continue;
+
+            if (TypeAdapterFactory.class.isAssignableFrom(serializerClass))
+                serializerRegistry.registerTypeAdapterFactory((TypeAdapterFactory) container.getInstance(serializerClass));
+            else if (TypeAdapter.class.isAssignableFrom(serializerClass))
+                serializerRegistry.registerTypeAdapter(findAdaptedType(serializerClass), container.getInstance(serializerClass));
         }
-        classLoader.close();
+    }
 
-        return classes;
+    private Type findAdaptedType(Class<?> adapterClass) {
+        for (Class<?> c = adapterClass; c != null; c = c.getSuperclass()) {
+            Type superclass = c.getGenericSuperclass();
+            if (superclass instanceof ParameterizedType && ((ParameterizedType) superclass).getRawType() == TypeAdapter.class)
+                return ((ParameterizedType) superclass).getActualTypeArguments()[0];
+        }
+        throw new IllegalArgumentException("Cannot resolve the adapted type of " + adapterClass.getName());
     }
 
     private List<String> loadConfigurations(Class<?> applicationClass) throws Exception {
@@ -95,10 +185,26 @@ public class AnnotationApplicationContext {
         return container.getInstance(clazz);
     }
 
+    public <T> T newInstance(Class<T> clazz) throws Exception {
+        return container.newInstance(clazz);
+    }
+
     public <T> void registerInstance(Class<?> instanceClass, T instance) throws Exception {
         container.registerInstance(instanceClass, instance);
     }
 
+    public void registerInterceptor(Class<? extends Annotation> annotation, Interceptor interceptor) throws ContainerException {
+        container.registerInterceptor(annotation, interceptor);
+    }
+
+    public void addHandlerInterceptor(HandlerInterceptor handlerInterceptor) {
+        handlerInterceptors.add(handlerInterceptor);
+    }
+
+    public List<HandlerInterceptor> getHandlerInterceptors() {
+        return handlerInterceptors;
+    }
+
     private void registerConfigBeans(Class<?> configClass) throws Exception {
         System.out.println("Registering configuration: " + configClass);
         Method[] methods = configClass.getDeclaredMethods();
@@ -123,11 +229,29 @@ public class AnnotationApplicationContext {
     }
 
     public void registerComponents() throws Exception {
+        List<Class<?>> singletons = new ArrayList<>();
         for (Class<?> component : components) {
-            if (component.isInterface())
-                continue;
+            if (!component.isInterface() && !component.isAnnotationPresent(Prototype.class))
+                singletons.add(component);
+        }
+
+        if (Boolean.parseBoolean(getProperty("context.parallelStartup", "false"))) {
+            registerComponentsInParallel(singletons);
+            return;
+        }
 
+        for (Class<?> component : singletons)
             container.getInstance(component);
+    }
+
+    private void registerComponentsInParallel(List<Class<?>> singletons) throws Exception {
+        int parallelism = Integer.parseInt(getProperty("context.startupParallelism", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        DependencyGraph dependencyGraph = new DependencyGraph(container, singletons);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            dependencyGraph.instantiate(pool);
+        } finally {
+            pool.shutdown();
         }
     }
 
@@ -146,4 +270,20 @@ public class AnnotationApplicationContext {
     public List<Class<?>> getClasses() {
         return classes;
     }
+
+    public SerializerRegistry getSerializerRegistry() {
+        return serializerRegistry;
+    }
+
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    public Properties getProperties() {
+        return properties;
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package org.example.Annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Batch {
+    int flushEvery() default 1000;
+}
@@ -0,0 +1,13 @@
+package org.example;
+
+public class ContextRefreshedEvent {
+    private final AnnotationApplicationContext applicationContext;
+
+    public ContextRefreshedEvent(AnnotationApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    public AnnotationApplicationContext getApplicationContext() {
+        return applicationContext;
+    }
+}
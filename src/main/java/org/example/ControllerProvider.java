@@ -0,0 +1,5 @@
+package org.example;
+
+public interface ControllerProvider {
+    Object get() throws Exception;
+}
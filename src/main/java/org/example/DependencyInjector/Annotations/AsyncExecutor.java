@@ -0,0 +1,25 @@
+package org.example.DependencyInjector.Annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncExecutor {
+    String name();
+
+    Kind kind() default Kind.FIXED;
+
+    int threads() default 0;
+
+    int queueCapacity() default 0;
+
+    RejectionPolicy rejectionPolicy() default RejectionPolicy.ABORT;
+
+    enum Kind {
+        FIXED, WORK_STEALING, VIRTUAL
+    }
+
+    enum RejectionPolicy {
+        ABORT, CALLER_RUNS, DISCARD, DISCARD_OLDEST
+    }
+}
@@ -7,4 +7,19 @@ import java.lang.annotation.RetentionPolicy;
 @Inherited
 @Retention(RetentionPolicy.RUNTIME)
 public @interface EventListener {
-}
\ No newline at end of file
+    boolean async() default false;
+
+    int queueCapacity() default 1024;
+
+    int batchSize() default 256;
+
+    Overflow overflow() default Overflow.BLOCK;
+
+    String key() default "";
+
+    int partitions() default 1;
+
+    enum Overflow {
+        BLOCK, DROP, CALLER_RUNS
+    }
+}
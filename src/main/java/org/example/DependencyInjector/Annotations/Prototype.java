@@ -0,0 +1,8 @@
+package org.example.DependencyInjector.Annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Prototype {
+}
@@ -1,30 +1,59 @@
 package org.example.DependencyInjector;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class ApplicationEventPublisher {
-    Map<Class<?>, List<Listener>> listeners = Collections.synchronizedMap(new HashMap<>());
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+    private volatile DispatchTable dispatchTable = new DispatchTable(NO_LISTENERS);
 
     public void publishEvent(Object event) throws InvocationTargetException, IllegalAccessException {
-        Class<?> eventType = event.getClass();
-        List<Listener> listenersForEvent =  listeners.get(eventType);
-        if (listenersForEvent == null)
-            return;
+        for (Listener listener : dispatchTable.listenersFor(event.getClass()))
+            listener.onEvent(event);
+    }
 
-        for (Listener listener : listenersForEvent) {
-            listener.invokeEvent(event);
-        }
+    public synchronized void addListener(Listener listener) {
+        Listener[] listeners = dispatchTable.listeners;
+        Listener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        dispatchTable = new DispatchTable(updated);
+    }
+
+    public void close(long timeoutMillis) throws InterruptedException, InvocationTargetException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Listener listener : dispatchTable.listeners)
+            listener.close(deadline);
+    }
+
+    public List<Listener> getListeners() {
+        return List.of(dispatchTable.listeners);
     }
 
-    public void addListener(Listener listener) throws ContainerException {
-        Class<?>[] eventTypes = listener.method.getParameterTypes();
-        if (eventTypes.length == 0)
-            throw new ContainerException("Event listener method " + listener.method.getName() + " does not have event argument");
+    private static final class DispatchTable {
+        final Listener[] listeners;
+        final ConcurrentHashMap<Class<?>, Listener[]> byEventType = new ConcurrentHashMap<>();
+
+        DispatchTable(Listener[] listeners) {
+            this.listeners = listeners;
+        }
 
-        Class<?> eventType = eventTypes[0];
-        List<Listener> listenersForEvent = listeners.getOrDefault(eventType, new ArrayList<>());
-        listenersForEvent.add(listener);
-        listeners.put(eventType, listenersForEvent);
+        Listener[] listenersFor(Class<?> eventType) {
+            Listener[] matching = byEventType.get(eventType);
+            if (matching != null)
+                return matching;
+
+            List<Listener> resolved = new ArrayList<>();
+            for (Listener listener : listeners) {
+                if (listener.eventType.isAssignableFrom(eventType))
+                    resolved.add(listener);
+            }
+            matching = resolved.isEmpty() ? NO_LISTENERS : resolved.toArray(NO_LISTENERS);
+            Listener[] existing = byEventType.putIfAbsent(eventType, matching);
+            return existing != null ? existing : matching;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package org.example.DependencyInjector;
+
+import net.sf.cglib.proxy.CallbackFilter;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+class AsyncCallbackFilter implements CallbackFilter {
+    static final int NO_OP = 0;
+    private final List<Method> asyncMethods;
+
+    AsyncCallbackFilter(List<Method> asyncMethods) {
+        this.asyncMethods = asyncMethods;
+    }
+
+    @Override
+    public int accept(Method method) {
+        for (int i = 0; i < asyncMethods.size(); i++) {
+            Method asyncMethod = asyncMethods.get(i);
+            if (asyncMethod.getName().equals(method.getName()) && asyncMethod.getReturnType() == method.getReturnType()
+                    && Arrays.equals(asyncMethod.getParameterTypes(), method.getParameterTypes()))
+                return i + 1;
+        }
+        return NO_OP;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AsyncCallbackFilter && asyncMethods.equals(((AsyncCallbackFilter) o).asyncMethods);
+    }
+
+    @Override
+    public int hashCode() {
+        return asyncMethods.hashCode();
+    }
+}
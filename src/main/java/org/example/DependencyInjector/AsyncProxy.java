@@ -0,0 +1,8 @@
+package org.example.DependencyInjector;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+public interface AsyncProxy {
+    void setExecutors(Map<String, ExecutorService> executors);
+}
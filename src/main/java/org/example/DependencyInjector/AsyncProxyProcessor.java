@@ -0,0 +1,197 @@
+package org.example.DependencyInjector;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@SupportedAnnotationTypes("org.example.DependencyInjector.Annotations.Async")
+public class AsyncProxyProcessor extends AbstractProcessor {
+    public static final String PROXY_SUFFIX = "$$Async";
+    private static final String ASYNC_ANNOTATION = "org.example.DependencyInjector.Annotations.Async";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<ExecutableElement>> asyncMethods = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.METHOD)
+                    asyncMethods.computeIfAbsent((TypeElement) element.getEnclosingElement(), key -> new ArrayList<>()).add((ExecutableElement) element);
+            }
+        }
+
+        for (Map.Entry<TypeElement, List<ExecutableElement>> entry : asyncMethods.entrySet()) {
+            if (canGenerateProxy(entry.getKey(), entry.getValue()))
+                writeProxy(entry.getKey(), entry.getValue());
+        }
+        return false;
+    }
+
+    private boolean canGenerateProxy(TypeElement beanType, List<ExecutableElement> methods) {
+        Set<Modifier> modifiers = beanType.getModifiers();
+        if (beanType.getKind() != ElementKind.CLASS || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.ABSTRACT)
+                || modifiers.contains(Modifier.PRIVATE) || !beanType.getTypeParameters().isEmpty())
+            return false;
+        if (beanType.getNestingKind() != NestingKind.TOP_LEVEL && (beanType.getNestingKind() != NestingKind.MEMBER || !modifiers.contains(Modifier.STATIC)))
+            return false;
+        for (ExecutableElement method : methods) {
+            Set<Modifier> methodModifiers = method.getModifiers();
+            if (methodModifiers.contains(Modifier.FINAL) || methodModifiers.contains(Modifier.PRIVATE) || methodModifiers.contains(Modifier.STATIC))
+                return false;
+        }
+        return true;
+    }
+
+    private void writeProxy(TypeElement beanType, List<ExecutableElement> methods) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(beanType).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(beanType).toString();
+        String proxyName = binaryName.substring(binaryName.lastIndexOf('.') + 1) + PROXY_SUFFIX;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+        source.append("public class ").append(proxyName).append(" extends ").append(beanType.getQualifiedName())
+                .append(" implements org.example.DependencyInjector.AsyncProxy {\n")
+                .append("    private java.util.Map<String, java.util.concurrent.ExecutorService> executors;\n");
+
+        for (Element element : beanType.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.CONSTRUCTOR && !element.getModifiers().contains(Modifier.PRIVATE))
+                writeConstructor(source, proxyName, (ExecutableElement) element);
+        }
+
+        source.append("\n    @Override\n")
+                .append("    public void setExecutors(java.util.Map<String, java.util.concurrent.ExecutorService> executors) {\n")
+                .append("        this.executors = executors;\n")
+                .append("    }\n");
+
+        for (ExecutableElement method : methods)
+            writeMethod(source, method);
+        source.append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile((packageName.isEmpty() ? "" : packageName + ".") + proxyName, beanType);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write async proxy: " + e.getMessage(), beanType);
+        }
+    }
+
+    private void writeConstructor(StringBuilder source, String proxyName, ExecutableElement constructor) {
+        source.append("\n    public ").append(proxyName).append("(").append(parameters(constructor)).append(")")
+                .append(throwsClause(constructor)).append(" {\n")
+                .append("        super(").append(arguments(constructor)).append(");\n")
+                .append("    }\n");
+    }
+
+    private void writeMethod(StringBuilder source, ExecutableElement method) {
+        String executorName = asyncValue(method);
+        TypeMirror returnType = method.getReturnType();
+        boolean isVoid = returnType.getKind() == TypeKind.VOID;
+        String call = "super." + method.getSimpleName() + "(" + arguments(method) + ")";
+
+        source.append("\n    @Override\n    @SuppressWarnings(\"unchecked\")\n    ")
+                .append(visibility(method))
+                .append(typeParameters(method))
+                .append(returnType).append(" ").append(method.getSimpleName())
+                .append("(").append(parameters(method)).append(")")
+                .append(throwsClause(method)).append(" {\n        ");
+        if (!isVoid)
+            source.append("return (").append(boxed(returnType)).append(") ");
+        source.append("org.example.DependencyInjector.AsyncSupport.invoke(this.executors, \"").append(escape(executorName)).append("\", ")
+                .append(isVoid ? "void" : processingEnv.getTypeUtils().erasure(returnType)).append(".class, () -> ");
+        if (isVoid)
+            source.append("{ ").append(call).append("; return null; }");
+        else
+            source.append(call);
+        source.append(");\n    }\n");
+    }
+
+    private String asyncValue(ExecutableElement method) {
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            if (!annotation.getAnnotationType().toString().equals(ASYNC_ANNOTATION))
+                continue;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+                if (value.getKey().getSimpleName().contentEquals("value"))
+                    return value.getValue().getValue().toString();
+            }
+        }
+        return "";
+    }
+
+    private String visibility(ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.PUBLIC))
+            return "public ";
+        if (method.getModifiers().contains(Modifier.PROTECTED))
+            return "protected ";
+        return "";
+    }
+
+    private String typeParameters(ExecutableElement method) {
+        if (method.getTypeParameters().isEmpty())
+            return "";
+        return method.getTypeParameters().stream().map(typeParameter -> {
+            List<String> bounds = typeParameter.getBounds().stream()
+                    .map(TypeMirror::toString)
+                    .filter(bound -> !bound.equals("java.lang.Object"))
+                    .collect(Collectors.toList());
+            return typeParameter.getSimpleName() + (bounds.isEmpty() ? "" : " extends " + String.join(" & ", bounds));
+        }).collect(Collectors.joining(", ", "<", "> "));
+    }
+
+    private String parameters(ExecutableElement executable) {
+        List<? extends VariableElement> parameters = executable.getParameters();
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < parameters.size(); i++) {
+            String type = parameters.get(i).asType().toString();
+            if (executable.isVarArgs() && i == parameters.size() - 1)
+                type = type.substring(0, type.length() - 2) + "...";
+            if (i > 0)
+                result.append(", ");
+            result.append("final ").append(type).append(" arg").append(i);
+        }
+        return result.toString();
+    }
+
+    private String arguments(ExecutableElement executable) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < executable.getParameters().size(); i++) {
+            if (i > 0)
+                result.append(", ");
+            result.append("arg").append(i);
+        }
+        return result.toString();
+    }
+
+    private String throwsClause(ExecutableElement executable) {
+        if (executable.getThrownTypes().isEmpty())
+            return "";
+        return " throws " + executable.getThrownTypes().stream().map(TypeMirror::toString).collect(Collectors.joining(", "));
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind().isPrimitive())
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        return type.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
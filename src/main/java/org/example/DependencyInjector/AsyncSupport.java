@@ -0,0 +1,138 @@
+package org.example.DependencyInjector;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AsyncSupport {
+    public interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    public static Object invoke(Map<String, ExecutorService> executors, String executorName, Class<?> returnType, Invocation invocation) {
+        ExecutorService executorService = executors.get(executorName);
+        if (executorService == null)
+            throw new IllegalStateException("Executor service \"" + executorName + "\" not found!");
+
+        if (returnType.equals(Void.TYPE)) {
+            executorService.execute(() -> {
+                try {
+                    invocation.proceed();
+                } catch (Throwable e) {
+                    throw new RuntimeException(unwrap(e));
+                }
+            });
+            return null;
+        }
+
+        if (CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class))
+            return compose(executorService, invocation);
+
+        Task<Object> task = new Task<>(() -> {
+            try {
+                Object result = invocation.proceed();
+                return result instanceof Future ? ((Future<?>) result).get() : result;
+            } catch (Throwable e) {
+                throw new RuntimeException(unwrap(e));
+            }
+        }, null);
+        executorService.execute(task);
+        return task;
+    }
+
+    private static CompletableFuture<Object> compose(ExecutorService executorService, Invocation invocation) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        AtomicReference<Future<?>> inner = new AtomicReference<>();
+        Task<Object> task = new Task<>(() -> {
+            if (result.isDone())
+                return null;
+            try {
+                Object value = invocation.proceed();
+                if (value instanceof CompletionStage) {
+                    CompletableFuture<?> stage = ((CompletionStage<?>) value).toCompletableFuture();
+                    inner.set(stage);
+                    stage.whenComplete((innerValue, innerException) -> complete(result, innerValue, innerException));
+                    if (result.isCancelled())
+                        stage.cancel(true);
+                } else if (value instanceof Future) {
+                    inner.set((Future<?>) value);
+                    complete(result, ((Future<?>) value).get(), null);
+                } else {
+                    result.complete(value);
+                }
+            } catch (Throwable e) {
+                complete(result, null, e);
+            }
+            return null;
+        }, result);
+        executorService.execute(task);
+
+        result.whenComplete((value, exception) -> {
+            if (!result.isCancelled())
+                return;
+            task.cancel(true);
+            Future<?> innerFuture = inner.get();
+            if (innerFuture != null)
+                innerFuture.cancel(true);
+        });
+        return result;
+    }
+
+    static final class Task<T> extends FutureTask<T> {
+        private final CompletableFuture<?> dependent;
+
+        Task(Callable<T> callable, CompletableFuture<?> dependent) {
+            super(callable);
+            this.dependent = dependent;
+        }
+
+        void reject(RejectedExecutionException e) {
+            setException(e);
+        }
+
+        @Override
+        protected void done() {
+            if (dependent == null || dependent.isDone())
+                return;
+            if (isCancelled()) {
+                dependent.cancel(false);
+                return;
+            }
+            try {
+                get();
+            } catch (ExecutionException e) {
+                dependent.completeExceptionally(e.getCause());
+            } catch (InterruptedException | CancellationException ignored) {
+            }
+        }
+    }
+
+    private static void complete(CompletableFuture<Object> result, Object value, Throwable exception) {
+        if (exception == null) {
+            result.complete(value);
+            return;
+        }
+        Throwable cause = unwrap(exception);
+        if (cause instanceof CancellationException)
+            result.cancel(false);
+        else
+            result.completeExceptionally(cause);
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        while ((exception instanceof CompletionException || exception instanceof ExecutionException || exception instanceof InvocationTargetException)
+                && exception.getCause() != null)
+            exception = exception.getCause();
+        return exception;
+    }
+}
@@ -4,6 +4,7 @@ import org.example.DependencyInjector.Annotations.Value;
 
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -15,12 +16,16 @@ public class BeanFactoryPostProcessor {
     HashMap<String, Object> properties = new HashMap<>();
 
     public BeanFactoryPostProcessor(Properties properties) {
-        properties.putAll(this.properties);
+        this.properties.putAll((Map) properties);
     }
 
     public void processProperties(Object bean) throws ContainerException, IllegalAccessException {
-        Class<?> beanClass = bean.getClass();
-        Field[] fields = beanClass.getDeclaredFields();
+        for (Class<?> beanClass = bean.getClass(); beanClass != Object.class; beanClass = beanClass.getSuperclass()) {
+            processProperties(bean, beanClass.getDeclaredFields());
+        }
+    }
+
+    private void processProperties(Object bean, Field[] fields) throws ContainerException, IllegalAccessException {
         for (Field field : fields) {
             Value value = field.getAnnotation(Value.class);
             if (value == null)
@@ -0,0 +1,40 @@
+package org.example.DependencyInjector;
+
+import java.util.Map;
+
+final class ClassInstanceTable {
+    static final ClassInstanceTable EMPTY = new ClassInstanceTable(Map.of());
+    private final Class<?>[] keys;
+    private final Object[] values;
+    private final int mask;
+
+    ClassInstanceTable(Map<Class<?>, Object> instances) {
+        int capacity = Integer.highestOneBit(Math.max(instances.size(), 1) * 4 - 1) << 1;
+        this.keys = new Class<?>[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        for (Map.Entry<Class<?>, Object> entry : instances.entrySet()) {
+            int index = indexFor(entry.getKey());
+            while (keys[index] != null)
+                index = (index + 1) & mask;
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+        }
+    }
+
+    Object get(Class<?> key) {
+        int index = indexFor(key);
+        Class<?> candidate;
+        while ((candidate = keys[index]) != null) {
+            if (candidate == key)
+                return values[index];
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private int indexFor(Class<?> key) {
+        int hash = System.identityHashCode(key);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -1,27 +1,33 @@
 package org.example.DependencyInjector;
 
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.NoOp;
 import org.example.DependencyInjector.Annotations.*;
 import org.example.DependencyInjector.Annotations.EventListener;
 import org.mockito.Mockito;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.*;
 
 public class Container {
     public static int DEFAULT_NUMBER_OF_THREADS_FOR_ASYNC_METHODS = 16;
-
-    HashMap<String, Object> keyInstances = new HashMap<>();
-    public HashMap<Class<?>, Object> classInstances = new HashMap<>();
-    HashMap<Class<?>, Class<?>> implementations = new HashMap<>();
-    HashSet<Method> asyncMethods = new HashSet<>();
-    HashMap<String, ExecutorService> threadPoolExecutors = new HashMap<>();
+    public static final String DEFAULT_EXECUTOR = "applicationThreadPoolExecutor";
+
+    Map<String, Object> keyInstances = new ConcurrentHashMap<>();
+    public Map<Class<?>, Object> classInstances = new ConcurrentHashMap<>();
+    Map<Class<?>, Class<?>> implementations = new ConcurrentHashMap<>();
+    Map<String, ExecutorService> threadPoolExecutors = new ConcurrentHashMap<>();
+    Map<Class<?>, Object> creationLocks = new ConcurrentHashMap<>();
+    Map<Class<?>, Object> earlyInstances = new ConcurrentHashMap<>();
+    Map<Class<?>, Optional<Class<?>>> generatedProxies = new ConcurrentHashMap<>();
+    Map<Class<? extends Annotation>, Interceptor> interceptors = new ConcurrentHashMap<>();
+    volatile ClassInstanceTable frozenInstances = ClassInstanceTable.EMPTY;
     BeanFactoryPostProcessor beanFactoryPostProcessor;
     ApplicationEventPublisher applicationEventPublisher;
     boolean isAsync;
@@ -31,11 +37,15 @@ public class Container {
     }
 
     public Container(Class<?> configClass) throws IOException {
+        this(configClass, new Properties());
+    }
+
+    public Container(Class<?> configClass, Properties applicationProperties) throws IOException {
         this();
         EnableAsync enableAsync = configClass.getAnnotation(EnableAsync.class);
         if (enableAsync != null) {
             isAsync = true;
-            threadPoolExecutors.put("applicationThreadPoolExecutor", Executors.newFixedThreadPool(DEFAULT_NUMBER_OF_THREADS_FOR_ASYNC_METHODS));
+            registerExecutors(enableAsync, applicationProperties);
         }
         PropertiesSource propertiesSource = configClass.getAnnotation(PropertiesSource.class);
         if (propertiesSource == null)
@@ -46,33 +56,94 @@ public class Container {
         beanFactoryPostProcessor = new BeanFactoryPostProcessor(properties);
     }
 
+    private void registerExecutors(EnableAsync enableAsync, Properties applicationProperties) {
+        for (AsyncExecutor executor : enableAsync.executors()) {
+            threadPoolExecutors.put(executor.name(), ExecutorFactory.create(executor.name(), applicationProperties,
+                    executor.kind(), executor.threads(), executor.queueCapacity(), executor.rejectionPolicy()));
+        }
+
+        String executorNames = DEFAULT_EXECUTOR + "," + applicationProperties.getProperty("async.executors", "");
+        for (String executorName : executorNames.split(",")) {
+            executorName = executorName.trim();
+            if (executorName.isEmpty() || threadPoolExecutors.containsKey(executorName))
+                continue;
+            threadPoolExecutors.put(executorName, ExecutorFactory.create(executorName, applicationProperties,
+                    AsyncExecutor.Kind.FIXED, DEFAULT_NUMBER_OF_THREADS_FOR_ASYNC_METHODS, 0, AsyncExecutor.RejectionPolicy.ABORT));
+        }
+    }
+
     private void registerEventPublisher() {
         applicationEventPublisher = new ApplicationEventPublisher();
         classInstances.put(ApplicationEventPublisher.class, applicationEventPublisher);
     }
 
+    public Map<String, ExecutorService> getThreadPoolExecutors() {
+        return threadPoolExecutors;
+    }
+
     public Object getInstance(String key) {
         return keyInstances.get(key);
     }
 
     public <T> T getInstance(Class<T> c) throws Exception {
+        T frozenInstance = (T) frozenInstances.get(c);
+        if (frozenInstance != null)
+            return frozenInstance;
         Class<?> keyClass = c;
         T existingInstance = (T) classInstances.get(c);
         if (existingInstance != null)
             return existingInstance;
         if (c.isInterface()) {
             keyClass = getInterfaceImplementationClass(c);
+            existingInstance = (T) classInstances.get(keyClass);
+            if (existingInstance != null)
+                return existingInstance;
         }
-        T instance = (T) classInstances.get(keyClass);
-        if (instance == null) {
-            instance = createProxy(c, true);
-            decorateInstance(keyClass, instance, true, new HashSet<>());
+        if (keyClass.isAnnotationPresent(Prototype.class))
+            return newInstance(c);
+        synchronized (creationLocks.computeIfAbsent(keyClass, key -> new Object())) {
+            T instance = (T) classInstances.get(keyClass);
+            if (instance == null)
+                instance = (T) earlyInstances.get(keyClass);
+            if (instance == null) {
+                instance = createProxy(c, true);
+                earlyInstances.put(keyClass, instance);
+                try {
+                    decorateInstance(keyClass, instance, true, new HashSet<>());
+                    classInstances.put(keyClass, instance);
+                } finally {
+                    earlyInstances.remove(keyClass);
+                }
+            }
+
+            return instance;
         }
-        classInstances.put(keyClass, instance);
+    }
 
+    public <T> T newInstance(Class<T> c) throws Exception {
+        Class<?> keyClass = c.isInterface() ? getInterfaceImplementationClass(c) : c;
+        T instance = createProxy(c, false);
+        decorateInstance(keyClass, instance, false, new HashSet<>());
         return instance;
     }
 
+    public void freeze() {
+        Map<Class<?>, Object> instances = new HashMap<>(classInstances);
+        for (Map.Entry<Class<?>, Class<?>> implementation : implementations.entrySet()) {
+            Object instance = classInstances.get(implementation.getValue());
+            if (instance != null)
+                instances.putIfAbsent(implementation.getKey(), instance);
+        }
+        for (Map.Entry<Class<?>, Object> entry : classInstances.entrySet()) {
+            for (Class<?> _interface : entry.getKey().getInterfaces()) {
+                Default _default = _interface.getAnnotation(Default.class);
+                if (_default != null && _default.value() == entry.getKey())
+                    instances.putIfAbsent(_interface, entry.getValue());
+            }
+        }
+        frozenInstances = new ClassInstanceTable(instances);
+    }
+
     public void decorateInstance(Object o) throws Exception {
         addFields(o.getClass(), o, false, new HashSet<>());
     }
@@ -94,14 +165,18 @@ public class Container {
             throw new ContainerException("This interface already has implementing class registered");
         implementations.put(ifs, impl);
     }
+    public void registerInterceptor(Class<? extends Annotation> annotation, Interceptor interceptor) throws ContainerException {
+        if (interceptors.putIfAbsent(annotation, interceptor) != null)
+            throw new ContainerException("Annotation " + annotation.getName() + " already has an interceptor registered");
+    }
+
     public void registerInstance(Object instance) throws Exception {
         registerInstance(instance.getClass(), instance);
     }
 
-    private <T> T constructProxy(Class<T> c, boolean addToContainer, Enhancer enhancer) throws Exception {
+    private <T> T constructProxy(Class<T> c, List<Method> interceptedMethods) throws Exception {
         Constructor<?>[] constructors = c.getDeclaredConstructors();
         Constructor<?> constructor = null;
-        Object instance = null;
         for (Constructor constr : constructors) {
             Inject inject = (Inject) constr.getAnnotation(Inject.class);
             if (inject != null) {
@@ -110,13 +185,12 @@ public class Container {
             }
         }
 
-        if (constructor == null)
-            instance = enhancer.create();
-        else {
-            constructor.getParameters()[0].getName();
+        Class<?>[] types = new Class[0];
+        Object[] objects = new Object[0];
+        if (constructor != null) {
             Parameter[] parameters = constructor.getParameters();
-            Class<?>[] types = new Class[parameters.length];
-            Object[] objects = new Object[parameters.length];
+            types = constructor.getParameterTypes();
+            objects = new Object[parameters.length];
             for (int i = 0; i < parameters.length; i++) {
                 NamedParameter namedParameter = parameters[i].getAnnotation(NamedParameter.class);
                 if (namedParameter != null) {
@@ -127,19 +201,37 @@ public class Container {
                         continue;
                     }
                 }
-                types[i]  = parameters[i].getType();
                 objects[i] = getInstance(parameters[i].getType());
             }
-
-            instance = enhancer.create(types, objects);
         }
 
-        if (addToContainer)
-            classInstances.put(c, instance);
+        Object instance;
+        boolean intercepted = !interceptedMethods.isEmpty();
+        Class<?> generatedProxy = intercepted && isAsyncOnly(interceptedMethods) ? findGeneratedProxy(c) : null;
+        if (intercepted && generatedProxy == null)
+            instance = createEnhancer(c, interceptedMethods).create(types, objects);
+        else {
+            Constructor<?> target = (generatedProxy != null ? generatedProxy : c).getDeclaredConstructor(types);
+            target.trySetAccessible();
+            instance = target.newInstance(objects);
+        }
+        if (instance instanceof AsyncProxy)
+            ((AsyncProxy) instance).setExecutors(threadPoolExecutors);
 
         return (T) instance;
     }
 
+    private Class<?> findGeneratedProxy(Class<?> beanClass) {
+        return generatedProxies.computeIfAbsent(beanClass, key -> {
+            try {
+                Class<?> proxyClass = Class.forName(key.getName() + AsyncProxyProcessor.PROXY_SUFFIX, false, key.getClassLoader());
+                return key.isAssignableFrom(proxyClass) && AsyncProxy.class.isAssignableFrom(proxyClass) ? Optional.of(proxyClass) : Optional.empty();
+            } catch (ClassNotFoundException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
     private <T> void decorateInstance(Class<T> c, Object instance, boolean addToContainer, HashSet<Class<?>> passedClasses) throws Exception {
         passedClasses.add(c);
         addFields(c, instance, addToContainer, passedClasses);
@@ -167,7 +259,7 @@ public class Container {
             }
             Class<?> fieldType = field.getType();
             if (passedClasses.contains(fieldType)) {
-                Object fieldInstance = classInstances.get(fieldType);
+                Object fieldInstance = earlyInstances.get(fieldType);
                 if(fieldInstance != null) {
                     field.set(fieldInstance, instance);
                     continue;
@@ -197,7 +289,7 @@ public class Container {
     private <T> T createMock(Class<T> mockClass, Field field, Object parent) {
         T mock = Mockito.mock(mockClass);
         Mockito.mock(mockClass, invocation -> {
-            T instance = createProxy(mockClass, true);
+            T instance = getInstance(mockClass);
             field.set(parent, instance);
             return invocation;
         });
@@ -216,12 +308,10 @@ public class Container {
         if (instance != null)
             return instance;
         Class<?> interfaceImplementationClass = getInterfaceImplementationClass(interfaceClass);
-        Enhancer enhancer = new Enhancer();
-        enhancer.setSuperclass(interfaceImplementationClass);
-        return constructProxy(interfaceImplementationClass, false, enhancer);
+        return constructProxy(interfaceImplementationClass, findInterceptedMethods(interfaceImplementationClass));
     }
 
-    private Class<?> getInterfaceImplementationClass(Class<?> interfaceClass) throws Exception {
+    Class<?> getInterfaceImplementationClass(Class<?> interfaceClass) throws Exception {
         Class<?> implementationInstanceClass = implementations.get(interfaceClass);
         if (implementationInstanceClass != null)
             return implementationInstanceClass;
@@ -234,87 +324,77 @@ public class Container {
     }
 
     private void populateListeners(List<Method> listenerMethods, Object instance) throws ContainerException {
-        for (Method method : listenerMethods) {
-            org.example.DependencyInjector.Annotations.EventListener eventListener = method.getAnnotation(org.example.DependencyInjector.Annotations.EventListener.class);
-            if (eventListener != null) {
-                Enhancer enhancer = new Enhancer();
-                enhancer.setSuperclass(Listener.class);
-                enhancer.setCallback((MethodInterceptor) (o, proxyMethod, obj, proxy) -> {
-                    Async async = proxyMethod.getAnnotation(Async.class);
-                    System.out.println("Invoking on: " + proxyMethod.getName() + " " + method.getName());
-                    System.out.println(async);
-                    if (async != null) {
-                        String executorServiceName = async.value();
-                        ExecutorService executorService = threadPoolExecutors.get(executorServiceName);
-                        if (executorService == null)
-                            throw new ContainerException("Executor service \"" + executorServiceName + "\" not found!");
-
-                        executorService.submit(() -> {
-                            try {
-                                return proxy.invokeSuper(o, obj);
-                            } catch (Throwable e) {
-                                throw new RuntimeException(e);
-                            }
-                        });
-                    }
-                    return proxy.invokeSuper(o, obj);
-                });
-                Class<?>[] types = { Object.class, Method.class };
-                Object[] args = { instance, method };
-                Listener listener = (Listener) enhancer.create(types, args);
-                applicationEventPublisher.addListener(listener);
-            }
+        for (Method method : listenerMethods)
+            applicationEventPublisher.addListener(new Listener(instance, method));
+    }
+
+    private List<Method> findInterceptedMethods(Class<?> beanClass) {
+        List<Method> interceptedMethods = new ArrayList<>();
+        for (Method method : beanClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Async.class) || !findInterceptors(method).isEmpty())
+                interceptedMethods.add(method);
         }
+        return interceptedMethods;
     }
 
-    private <T> T createProxy(Class<T> beanClass, boolean addToContainer) throws Exception {
-        Method[] methods = beanClass.getDeclaredMethods();
-        List<Method> eventListenerMethods = new ArrayList<>();
-        for (Method method : methods) {
-            org.example.DependencyInjector.Annotations.EventListener eventListener = method.getAnnotation(EventListener.class);
-            if (eventListener != null) {
-                eventListenerMethods.add(method);
-            }
+    private List<Interceptor> findInterceptors(Method method) {
+        if (interceptors.isEmpty())
+            return List.of();
+        List<Interceptor> methodInterceptors = new ArrayList<>();
+        for (Annotation annotation : method.getAnnotations()) {
+            Interceptor interceptor = interceptors.get(annotation.annotationType());
+            if (interceptor != null)
+                methodInterceptors.add(interceptor);
+        }
+        return methodInterceptors;
+    }
+
+    private boolean isAsyncOnly(List<Method> interceptedMethods) {
+        for (Method method : interceptedMethods) {
+            if (!findInterceptors(method).isEmpty())
+                return false;
+        }
+        return true;
+    }
 
+    private Enhancer createEnhancer(Class<?> beanClass, List<Method> interceptedMethods) {
+        Callback[] callbacks = new Callback[interceptedMethods.size() + 1];
+        callbacks[AsyncCallbackFilter.NO_OP] = NoOp.INSTANCE;
+        for (int i = 0; i < interceptedMethods.size(); i++) {
+            Method method = interceptedMethods.get(i);
+            List<Interceptor> methodInterceptors = findInterceptors(method);
             Async async = method.getAnnotation(Async.class);
-            if (async != null) {
-                asyncMethods.add(method);
-            }
+            Class<?> returnType = method.getReturnType();
+            callbacks[i + 1] = (MethodInterceptor) (o, proxyMethod, objects, proxy) -> {
+                AsyncSupport.Invocation invocation = () -> proxy.invokeSuper(o, objects);
+                for (int j = methodInterceptors.size() - 1; j >= 0; j--) {
+                    Interceptor interceptor = methodInterceptors.get(j);
+                    AsyncSupport.Invocation next = invocation;
+                    invocation = () -> interceptor.intercept(method, next);
+                }
+                if (async == null)
+                    return invocation.proceed();
+                return AsyncSupport.invoke(threadPoolExecutors, async.value(), returnType, invocation);
+            };
         }
+
         Enhancer enhancer = new Enhancer();
         enhancer.setSuperclass(beanClass);
-        enhancer.setCallback((MethodInterceptor) (o, method, objects, proxy) -> {
-            if (asyncMethods.contains(method)) {
-                Async async = method.getAnnotation(Async.class);
-                String executorServiceName = async.value();
-                ExecutorService executorService = threadPoolExecutors.get(executorServiceName);
-                if (executorService == null)
-                    throw new ContainerException("Executor service \"" + executorServiceName + "\" not found!");
-
-                Class<?> returnType = method.getReturnType();
-                if (returnType.equals(Void.TYPE)) {
-                    executorService.execute(() -> {
-                        try {
-                            proxy.invokeSuper(o, objects);
-                        } catch (Throwable e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
-                    return null;
-                }
-                else
-                    return executorService.submit(() -> {
-                        try {
-                            return ((Future) proxy.invokeSuper(o, objects)).get();
-                        } catch (Throwable e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
-            }
-            return proxy.invokeSuper(o, objects);
-        });
-        T bean = constructProxy(beanClass, addToContainer, enhancer);
+        enhancer.setCallbackFilter(new AsyncCallbackFilter(interceptedMethods));
+        enhancer.setCallbacks(callbacks);
+        return enhancer;
+    }
+
+    private <T> T createProxy(Class<T> beanClass, boolean addToContainer) throws Exception {
+        List<Method> eventListenerMethods = new ArrayList<>();
+        for (Method method : beanClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(EventListener.class))
+                eventListenerMethods.add(method);
+        }
+        if (!addToContainer && !eventListenerMethods.isEmpty())
+            throw new ContainerException("Event listeners are not supported on non-singleton instances of " + beanClass.getName());
+        T bean = constructProxy(beanClass, findInterceptedMethods(beanClass));
         populateListeners(eventListenerMethods, bean);
         return bean;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package org.example.DependencyInjector;
+
+import org.example.DependencyInjector.Annotations.Inject;
+import org.example.DependencyInjector.Annotations.Named;
+import org.example.DependencyInjector.Annotations.NamedParameter;
+import org.example.DependencyInjector.Annotations.Prototype;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class DependencyGraph {
+    Container container;
+    Map<Class<?>, Set<Class<?>>> dependencies = new LinkedHashMap<>();
+
+    public DependencyGraph(Container container, List<Class<?>> beanClasses) {
+        this.container = container;
+        for (Class<?> beanClass : beanClasses) {
+            if (!beanClass.isInterface())
+                dependencies.put(beanClass, new LinkedHashSet<>());
+        }
+        Deque<Class<?>> pending = new ArrayDeque<>(dependencies.keySet());
+        while (!pending.isEmpty()) {
+            Class<?> beanClass = pending.poll();
+            addDependencies(beanClass, dependencies.get(beanClass), pending);
+        }
+    }
+
+    private void addDependencies(Class<?> beanClass, Set<Class<?>> beanDependencies, Deque<Class<?>> pending) {
+        for (Constructor<?> constructor : beanClass.getDeclaredConstructors()) {
+            if (!constructor.isAnnotationPresent(Inject.class))
+                continue;
+            for (Parameter parameter : constructor.getParameters()) {
+                NamedParameter namedParameter = parameter.getAnnotation(NamedParameter.class);
+                if (namedParameter == null || !container.keyInstances.containsKey(namedParameter.value()))
+                    addDependency(beanClass, parameter.getType(), beanDependencies, pending);
+            }
+            break;
+        }
+
+        for (Field field : beanClass.getDeclaredFields()) {
+            if (!field.isAnnotationPresent(Inject.class))
+                continue;
+            if (field.isAnnotationPresent(Named.class) && container.keyInstances.containsKey(field.getName()))
+                continue;
+            addDependency(beanClass, field.getType(), beanDependencies, pending);
+        }
+    }
+
+    private void addDependency(Class<?> beanClass, Class<?> dependencyClass, Set<Class<?>> beanDependencies, Deque<Class<?>> pending) {
+        if (dependencyClass.isInterface()) {
+            try {
+                dependencyClass = container.getInterfaceImplementationClass(dependencyClass);
+            } catch (Exception e) {
+                return;
+            }
+        }
+        if (dependencyClass == beanClass || dependencyClass.isPrimitive() || dependencyClass.isArray() || container.classInstances.containsKey(dependencyClass))
+            return;
+        if (!dependencies.containsKey(dependencyClass)) {
+            dependencies.put(dependencyClass, new LinkedHashSet<>());
+            pending.add(dependencyClass);
+        }
+        beanDependencies.add(dependencyClass);
+    }
+
+    public List<List<Class<?>>> getLevels() {
+        Map<Class<?>, Integer> remainingDependencies = new HashMap<>();
+        Map<Class<?>, List<Class<?>>> dependents = new HashMap<>();
+        List<Class<?>> level = new ArrayList<>();
+        for (Map.Entry<Class<?>, Set<Class<?>>> entry : dependencies.entrySet()) {
+            remainingDependencies.put(entry.getKey(), entry.getValue().size());
+            for (Class<?> dependency : entry.getValue())
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(entry.getKey());
+            if (entry.getValue().isEmpty())
+                level.add(entry.getKey());
+        }
+
+        List<List<Class<?>>> levels = new ArrayList<>();
+        while (!level.isEmpty()) {
+            levels.add(level);
+            List<Class<?>> nextLevel = new ArrayList<>();
+            for (Class<?> beanClass : level) {
+                remainingDependencies.remove(beanClass);
+                for (Class<?> dependent : dependents.getOrDefault(beanClass, List.of())) {
+                    if (remainingDependencies.merge(dependent, -1, Integer::sum) == 0)
+                        nextLevel.add(dependent);
+                }
+            }
+            level = nextLevel;
+        }
+
+        if (!remainingDependencies.isEmpty()) {
+            for (Class<?> beanClass : dependencies.keySet()) {
+                if (remainingDependencies.containsKey(beanClass))
+                    levels.add(List.of(beanClass));
+            }
+        }
+        return levels;
+    }
+
+    public void instantiate(ForkJoinPool pool) throws Exception {
+        for (List<Class<?>> level : getLevels()) {
+            level = level.stream().filter(beanClass -> !beanClass.isAnnotationPresent(Prototype.class)).toList();
+            if (level.isEmpty())
+                continue;
+            if (level.size() == 1) {
+                container.getInstance(level.get(0));
+                continue;
+            }
+
+            List<Future<Object>> futures = pool.invokeAll(level.stream()
+                    .<Callable<Object>>map(beanClass -> () -> container.getInstance(beanClass))
+                    .toList());
+            for (Future<Object> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception)
+                        throw (Exception) e.getCause();
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.DependencyInjector;
+
+import org.example.DependencyInjector.Annotations.AsyncExecutor.Kind;
+import org.example.DependencyInjector.Annotations.AsyncExecutor.RejectionPolicy;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class ExecutorFactory {
+    private static final Logger LOGGER = Logger.getLogger(ExecutorFactory.class.getName());
+
+    public static ExecutorService create(String name, Kind kind, int threads, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        switch (kind) {
+            case VIRTUAL:
+                return createVirtualThreadExecutor(name);
+            case WORK_STEALING:
+                return new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                        pool -> {
+                            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                            thread.setName(name + "-" + thread.getPoolIndex());
+                            return thread;
+                        }, null, true);
+            default:
+                if (queueCapacity <= 0 && rejectionPolicy != RejectionPolicy.ABORT)
+                    throw new IllegalArgumentException("Executor " + name + " needs a positive queueCapacity for the " + rejectionPolicy + " rejection policy to apply");
+                int poolSize = threads > 0 ? threads : Container.DEFAULT_NUMBER_OF_THREADS_FOR_ASYNC_METHODS;
+                BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>();
+                return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue, threadFactory(name), rejectedExecutionHandler(name, rejectionPolicy));
+        }
+    }
+
+    public static ExecutorService create(String name, Properties properties, Kind kind, int threads, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        String prefix = "async.executor." + name + ".";
+        return create(name,
+                parseEnum(Kind.class, properties.getProperty(prefix + "kind"), kind),
+                Integer.parseInt(properties.getProperty(prefix + "threads", String.valueOf(threads))),
+                Integer.parseInt(properties.getProperty(prefix + "queueCapacity", String.valueOf(queueCapacity))),
+                parseEnum(RejectionPolicy.class, properties.getProperty(prefix + "rejectionPolicy"), rejectionPolicy));
+    }
+
+    private static ExecutorService createVirtualThreadExecutor(String name) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warning("Virtual threads are not available, executor " + name + " falls back to a cached thread pool");
+            return Executors.newCachedThreadPool(threadFactory(name));
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> new Thread(runnable, name + "-" + counter.incrementAndGet());
+    }
+
+    private static RejectedExecutionHandler rejectedExecutionHandler(String name, RejectionPolicy rejectionPolicy) {
+        switch (rejectionPolicy) {
+            case CALLER_RUNS:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD:
+                return (task, executor) -> discard(name, task);
+            case DISCARD_OLDEST:
+                return (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        discard(name, task);
+                        return;
+                    }
+                    Runnable oldest = executor.getQueue().poll();
+                    if (oldest != null)
+                        discard(name, oldest);
+                    executor.execute(task);
+                };
+            default:
+                return new ThreadPoolExecutor.AbortPolicy();
+        }
+    }
+
+    private static void discard(String name, Runnable task) {
+        if (task instanceof AsyncSupport.Task)
+            ((AsyncSupport.Task<?>) task).reject(new RejectedExecutionException("Task discarded by executor " + name));
+        else if (task instanceof Future)
+            ((Future<?>) task).cancel(false);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> enumClass, String value, E defaultValue) {
+        if (value == null || value.isBlank())
+            return defaultValue;
+        String normalized = value.trim().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+        for (E constant : enumClass.getEnumConstants()) {
+            if (constant.name().replace("_", "").toLowerCase(Locale.ROOT).equals(normalized))
+                return constant;
+        }
+        throw new IllegalArgumentException("Unknown " + enumClass.getSimpleName() + " \"" + value + "\"");
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.DependencyInjector;
+
+import java.lang.reflect.Method;
+
+public interface Interceptor {
+    Object intercept(Method method, AsyncSupport.Invocation invocation) throws Throwable;
+}
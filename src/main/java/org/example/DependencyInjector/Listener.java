@@ -1,18 +1,143 @@
 package org.example.DependencyInjector;
 
+import org.example.DependencyInjector.Annotations.EventListener;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
 
 public class Listener {
-    Method method;
-    Object instance;
+    private static final MethodType EVENT_HANDLER_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodType KEY_EXTRACTOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    final Method method;
+    final Object instance;
+    final Class<?> eventType;
+    private final MethodHandle handle;
+    private final MethodHandle keyExtractor;
+    private final ListenerQueue queue;
 
-    public Listener(Object instance, Method method) {
+    public Listener(Object instance, Method method) throws ContainerException {
         this.method = method;
         this.instance = instance;
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        if (parameterTypes.length != 1)
+            throw new ContainerException("Event listener method " + method.getName() + " must have exactly one event argument");
+        EventListener eventListener = method.getAnnotation(EventListener.class);
+        boolean batched = eventListener != null && eventListener.async() && parameterTypes[0] == List.class;
+        if (batched)
+            this.eventType = findElementType(method.getGenericParameterTypes()[0]);
+        else
+            this.eventType = parameterTypes[0].isPrimitive() ? MethodType.methodType(parameterTypes[0]).wrap().returnType() : parameterTypes[0];
+
+        method.trySetAccessible();
+        try {
+            this.handle = MethodHandles.lookup().unreflect(method).bindTo(instance).asType(EVENT_HANDLER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new ContainerException("Event listener method " + method.getName() + " is not accessible: " + e.getMessage());
+        }
+
+        if (eventListener != null && eventListener.async()) {
+            if (batched && eventListener.batchSize() < 1)
+                throw new ContainerException("Event listener method " + method.getName() + " must have a positive batch size");
+            if (eventListener.partitions() > 1 && eventListener.key().isEmpty())
+                throw new ContainerException("Event listener method " + method.getName() + " needs a key to spread events over " + eventListener.partitions() + " partitions");
+            if (eventListener.overflow() == EventListener.Overflow.CALLER_RUNS && (eventListener.partitions() > 1 || !eventListener.key().isEmpty()))
+                throw new ContainerException("Event listener method " + method.getName() + " cannot use CALLER_RUNS overflow with a key, it would deliver events out of key order");
+            this.keyExtractor = eventListener.key().isEmpty() ? null : findKeyExtractor(eventType, eventListener.key());
+            this.queue = new ListenerQueue(this, "event-" + getName(), eventListener.partitions(), eventListener.queueCapacity(), batched ? eventListener.batchSize() : 0, eventListener.overflow());
+        } else {
+            this.keyExtractor = null;
+            this.queue = null;
+        }
+    }
+
+    private static MethodHandle findKeyExtractor(Class<?> eventType, String key) throws ContainerException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            for (Class<?> c = eventType; c != null; c = c.getSuperclass()) {
+                for (Method accessor : c.getDeclaredMethods()) {
+                    if (accessor.getName().equals(key) && accessor.getParameterCount() == 0 && !Modifier.isStatic(accessor.getModifiers())) {
+                        accessor.trySetAccessible();
+                        return lookup.unreflect(accessor).asType(KEY_EXTRACTOR_TYPE);
+                    }
+                }
+                for (Field field : c.getDeclaredFields()) {
+                    if (field.getName().equals(key) && !Modifier.isStatic(field.getModifiers())) {
+                        field.trySetAccessible();
+                        return lookup.unreflectGetter(field).asType(KEY_EXTRACTOR_TYPE);
+                    }
+                }
+            }
+            Method accessor = eventType.getMethod(key);
+            return lookup.unreflect(accessor).asType(KEY_EXTRACTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ContainerException("Event type " + eventType.getName() + " has no accessible key \"" + key + "\"");
+        }
+    }
+
+    private static Class<?> findElementType(Type listType) {
+        if (listType instanceof ParameterizedType) {
+            Type elementType = ((ParameterizedType) listType).getActualTypeArguments()[0];
+            if (elementType instanceof ParameterizedType)
+                elementType = ((ParameterizedType) elementType).getRawType();
+            if (elementType instanceof Class)
+                return (Class<?>) elementType;
+        }
+        return Object.class;
+    }
+
+    public String getName() {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+    public boolean isAsync() {
+        return queue != null;
+    }
+
+    public long getDropped() {
+        return queue == null ? 0 : queue.getDropped();
+    }
+
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.getQueueDepth();
+    }
+
+    Object keyOf(Object event) throws InvocationTargetException {
+        try {
+            return keyExtractor.invokeExact(event);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    void onEvent(Object event) throws InvocationTargetException {
+        if (queue == null)
+            invokeEvent(event);
+        else
+            queue.offer(event);
+    }
+
+    void close(long deadline) throws InterruptedException, InvocationTargetException {
+        if (queue != null)
+            queue.close(deadline);
     }
 
-    void invokeEvent(Object event) throws InvocationTargetException, IllegalAccessException {
-        method.invoke(instance, event);
+    void invokeEvent(Object event) throws InvocationTargetException {
+        try {
+            handle.invokeExact(event);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package org.example.DependencyInjector;
+
+import org.example.DependencyInjector.Annotations.EventListener.Overflow;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+class ListenerQueue {
+    private static final Object CLOSED = new Object();
+    private final Listener listener;
+    private final Lane[] lanes;
+    private final int batchSize;
+    private final Overflow overflow;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running = true;
+
+    ListenerQueue(Listener listener, String name, int partitions, int capacity, int batchSize, Overflow overflow) {
+        this.listener = listener;
+        this.batchSize = batchSize;
+        this.overflow = overflow;
+        this.lanes = new Lane[Math.max(partitions, 1)];
+        for (int i = 0; i < lanes.length; i++)
+            lanes[i] = new Lane(lanes.length == 1 ? name : name + "-" + i, capacity);
+    }
+
+    void offer(Object event) throws InvocationTargetException {
+        Lane lane = laneFor(event);
+        if (!running) {
+            deliverInline(event);
+            return;
+        }
+        if (lane.queue.offer(event))
+            return;
+
+        switch (overflow) {
+            case DROP:
+                dropped.increment();
+                return;
+            case CALLER_RUNS:
+                deliverInline(event);
+                return;
+            default:
+                if (lane.worker == Thread.currentThread()) {
+                    deliverInline(event);
+                    return;
+                }
+                try {
+                    lane.queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InvocationTargetException(e);
+                }
+        }
+    }
+
+    void close(long deadline) throws InterruptedException, InvocationTargetException {
+        if (!running)
+            return;
+        running = false;
+        for (Lane lane : lanes)
+            lane.queue.offer(CLOSED, Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        for (Lane lane : lanes) {
+            if (lane.worker != Thread.currentThread())
+                lane.worker.join(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 1));
+        }
+        for (Lane lane : lanes) {
+            if (lane.worker.isAlive())
+                continue;
+            List<Object> remaining = new ArrayList<>();
+            lane.queue.drainTo(remaining);
+            for (Object event : remaining) {
+                if (event != CLOSED)
+                    deliverInline(event);
+            }
+        }
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes)
+            depth += lane.queue.size();
+        return depth;
+    }
+
+    private Lane laneFor(Object event) throws InvocationTargetException {
+        if (lanes.length == 1)
+            return lanes[0];
+        int hash = Objects.hashCode(listener.keyOf(event));
+        return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+    }
+
+    private void deliver(Object event) throws InvocationTargetException {
+        listener.invokeEvent(event);
+    }
+
+    private void deliverInline(Object event) throws InvocationTargetException {
+        deliver(batchSize > 0 ? List.of(event) : event);
+    }
+
+    private final class Lane {
+        final BlockingQueue<Object> queue;
+        final Thread worker;
+
+        Lane(String name, int capacity) {
+            this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+            this.worker = new Thread(this::drainLoop, name);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        private void drainLoop() {
+            List<Object> batch = new ArrayList<>();
+            boolean closed = false;
+            while (!closed) {
+                Object event;
+                try {
+                    event = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                if (batchSize > 0) {
+                    batch.add(event);
+                    queue.drainTo(batch, batchSize - 1);
+                    closed = batch.removeIf(element -> element == CLOSED);
+                    if (batch.isEmpty())
+                        continue;
+                    event = List.copyOf(batch);
+                    batch.clear();
+                } else if (event == CLOSED) {
+                    closed = true;
+                    continue;
+                }
+
+                try {
+                    deliver(event);
+                } catch (InvocationTargetException e) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e.getCause());
+                }
+            }
+        }
+    }
+}
@@ -1,87 +1,319 @@
 package org.example;
 
-import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
 import org.example.Adapters.ControllersAdapter;
 import org.example.AnnotationApplicationContext;
+import org.example.Metrics.MetricsRegistry;
 import org.example.MethodMapping;
+import org.example.Resolvers.RequestBodyReader;
 import org.example.ResponseEntity;
+import org.example.Routing.RouteMatch;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.Enumeration;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class DispatcherServlet extends HttpServlet {
+    private static final String JSON_CONTENT_TYPE = "application/json;charset=UTF-8";
+    private static final String UNMATCHED_ROUTE = "-";
+    private static final long ASYNC = -1;
     private final ControllersAdapter controllersAdapter;
     private final AnnotationApplicationContext applicationContext;
-    private final Gson gson;
+    private final SerializerRegistry serializerRegistry;
+    private final AccessLog accessLog;
+    private final MetricsRegistry metricsRegistry;
+    private final String metricsPath;
+    private final long asyncTimeout;
+    private final List<HandlerInterceptor> handlerInterceptors;
 
-    public DispatcherServlet(ControllersAdapter controllersAdapter, AnnotationApplicationContext applicationContext) {
+    public DispatcherServlet(ControllersAdapter controllersAdapter, AnnotationApplicationContext applicationContext) throws IOException {
         this.controllersAdapter = controllersAdapter;
         this.applicationContext = applicationContext;
-        this.gson = new Gson();
+        this.serializerRegistry = applicationContext.getSerializerRegistry();
+        this.accessLog = createAccessLog(applicationContext);
+        this.metricsRegistry = applicationContext.getMetricsRegistry();
+        if (accessLog != null)
+            metricsRegistry.registerAccessLog(accessLog::getDropped);
+        this.metricsPath = Boolean.parseBoolean(applicationContext.getProperty("metrics.enabled", "true"))
+                ? applicationContext.getProperty("metrics.path", "/metrics")
+                : null;
+        this.asyncTimeout = Long.parseLong(applicationContext.getProperty("dispatcher.asyncTimeout", "30000"));
+        this.handlerInterceptors = applicationContext.getHandlerInterceptors();
     }
 
-    private void handleMethod(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        MethodMapping methodMapping = (MethodMapping) req.getAttribute("method");
-        Enumeration<String> paramNames = req.getParameterNames();
-        for (String paramName; paramNames.hasMoreElements();) {
-            paramName = paramNames.nextElement();
-            String value = req.getParameter(paramName);
-            methodMapping.addRequestParam(paramName, value);
-        }
+    private AccessLog createAccessLog(AnnotationApplicationContext applicationContext) throws IOException {
+        if (!Boolean.parseBoolean(applicationContext.getProperty("accessLog.enabled", "false")))
+            return null;
+
+        String file = applicationContext.getProperty("accessLog.file", "");
+        Writer writer = file.isEmpty()
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        int capacity = Integer.parseInt(applicationContext.getProperty("accessLog.bufferSize", "8192"));
+        return new AccessLog(writer, capacity);
+    }
 
-        if (req.getMethod().equals("POST") || req.getMethod().equals("PUT")) {
-            BufferedReader bufferedReader = req.getReader();
-            Object o = gson.fromJson(bufferedReader, methodMapping.getRequestBodyType());
-            methodMapping.setRequestBody(o);
+    private long handleMethod(HttpServletRequest req, HttpServletResponse resp, RouteMatch<MethodMapping> routeMatch, int preHandled, long start) throws ServletException, IOException {
+        MethodMapping methodMapping = routeMatch.getHandler();
+        InvocationContext context = new InvocationContext(req.getParameterMap(), routeMatch.getPathVariables());
+
+        RequestBodyReader requestBodyReader = methodMapping.getRequestBodyReader();
+        if (requestBodyReader != null && (req.getMethod().equals("POST") || req.getMethod().equals("PUT"))) {
+            try {
+                context.setRequestBody(requestBodyReader.read(req));
+            } catch (ResponseStatusException e) {
+                resp.sendError(e.getStatus(), e.getMessage());
+                return 0;
+            }
         }
 
-        Class<?> controllerClass = methodMapping.controller;
         try {
-            Object instance = applicationContext.getInstance(controllerClass);
-            Object responseObj = methodMapping.invoke(instance);
-            if (!methodMapping.isResponseBody) {
-                resp.setStatus(HttpServletResponse.SC_OK);
-                return;
+            Object instance = methodMapping.getControllerInstance();
+            Object responseObj = methodMapping.invoke(instance, context);
+            if (responseObj instanceof CompletionStage) {
+                handleAsync(req, resp, methodMapping, (CompletionStage<?>) responseObj, preHandled, start);
+                return ASYNC;
+            }
+            if (responseObj instanceof Future) {
+                Future<?> future = (Future<?>) responseObj;
+                if (!future.isDone())
+                    throw new IllegalStateException("Handler for " + methodMapping.getRoute() + " returned a Future that is not a CompletionStage and has not completed");
+                responseObj = future.get();
             }
+            return writeResponse(resp, methodMapping, responseObj);
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
 
-            ResponseEntity<?> responseEntity = extractResponseEntity(responseObj);
-            resp.setStatus(responseEntity.getHttpStatus());
+    private void handleAsync(HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping, CompletionStage<?> stage, int preHandled, long start) {
+        AsyncContext asyncContext = req.startAsync(req, resp);
+        asyncContext.setTimeout(asyncTimeout);
+        AtomicBoolean finished = new AtomicBoolean();
+        asyncContext.addListener(new AsyncListener() {
+            public void onTimeout(AsyncEvent event) {
+                if (!finished.compareAndSet(false, true))
+                    return;
+                stage.toCompletableFuture().cancel(true);
+                finishAsync(asyncContext, req, resp, methodMapping, preHandled, start, HttpServletResponse.SC_SERVICE_UNAVAILABLE, null);
+            }
 
-            Map<String, String> headers = responseEntity.getHeaders();
-            for (Map.Entry<String, String> entry : headers.entrySet()) {
-                resp.setHeader(entry.getKey(), entry.getValue());
+            public void onComplete(AsyncEvent event) {
             }
 
-            resp.getWriter().write(responseEntity.getEntityAsJson());
-        } catch (Exception e) {
-            throw new ServletException(e);
+            public void onError(AsyncEvent event) {
+                if (!finished.compareAndSet(false, true))
+                    return;
+                stage.toCompletableFuture().cancel(true);
+                finishAsync(asyncContext, req, resp, methodMapping, preHandled, start, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, event.getThrowable());
+            }
+
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        afterAsyncStarted(req, resp, methodMapping, preHandled);
+
+        stage.whenComplete((value, exception) -> {
+            if (!finished.compareAndSet(false, true))
+                return;
+            if (exception != null) {
+                finishAsync(asyncContext, req, resp, methodMapping, preHandled, start, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, exception);
+                return;
+            }
+            long bytes;
+            try {
+                bytes = writeResponse(resp, methodMapping, value);
+            } catch (Exception e) {
+                finishAsync(asyncContext, req, resp, methodMapping, preHandled, start, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e);
+                return;
+            }
+            completeAsync(asyncContext, req, resp, methodMapping, preHandled, start, resp.getStatus(), bytes, null);
+        });
+    }
+
+    private void finishAsync(AsyncContext asyncContext, HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping, int preHandled, long start, int status, Throwable exception) {
+        while (exception instanceof CompletionException && exception.getCause() != null)
+            exception = exception.getCause();
+        if (exception instanceof ResponseStatusException)
+            status = ((ResponseStatusException) exception).getStatus();
+        else if (exception != null)
+            logError(req, methodMapping, exception);
+        try {
+            resp.sendError(status);
+        } catch (IOException | IllegalStateException ignored) {
+        } finally {
+            completeAsync(asyncContext, req, resp, methodMapping, preHandled, start, status, 0, exception);
+        }
+    }
+
+    private void completeAsync(AsyncContext asyncContext, HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping, int preHandled, long start, int status, long bytes, Throwable failure) {
+        try {
+            afterCompletion(req, resp, methodMapping, preHandled, failure);
+        } catch (ServletException e) {
+            logError(req, methodMapping, e);
+        } finally {
+            recordRequest(methodMapping, status, System.nanoTime() - start, bytes);
+            asyncContext.complete();
         }
     }
 
+    private void logError(ServletRequest req, MethodMapping methodMapping, Throwable exception) {
+        ServletContext servletContext = req.getServletContext();
+        if (servletContext != null)
+            servletContext.log("Asynchronous request to " + methodMapping.getRoute() + " failed", exception);
+    }
+
+    private long writeResponse(HttpServletResponse resp, MethodMapping methodMapping, Object responseObj) throws IOException {
+        if (!methodMapping.isResponseBody) {
+            resp.setStatus(HttpServletResponse.SC_OK);
+            return 0;
+        }
+
+        ResponseEntity<?> responseEntity = extractResponseEntity(responseObj);
+        resp.setStatus(responseEntity.getHttpStatus());
+
+        Map<String, String> headers = responseEntity.getHeaders();
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            resp.setHeader(entry.getKey(), entry.getValue());
+        }
+
+        resp.setContentType(JSON_CONTENT_TYPE);
+        Utf8Writer writer = new Utf8Writer(resp.getOutputStream());
+        responseEntity.writeEntity(getResponseAdapter(methodMapping, responseEntity.getBody()), new JsonWriter(writer));
+        return writer.getBytesWritten();
+    }
+
+    private TypeAdapter<Object> getResponseAdapter(MethodMapping methodMapping, Object body) {
+        if (body == null)
+            return null;
+        TypeAdapter<Object> adapter = methodMapping.getResponseAdapter(body);
+        if (adapter != null)
+            return adapter;
+        return serializerRegistry.getAdapter(body.getClass());
+    }
+
     private ResponseEntity<?> extractResponseEntity(Object result) {
-        if (result.getClass().equals(ResponseEntity.class))
+        if (result != null && result.getClass().equals(ResponseEntity.class))
             return (ResponseEntity<?>) result;
 
         return new ResponseEntity<>(result, HttpServletResponse.SC_OK);
     }
 
     protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        long start = System.nanoTime();
         String method = req.getMethod();
-        MethodMapping controllerMapping = controllersAdapter.getMethodMapping(req.getPathInfo(), method);
-        System.out.println(controllerMapping);
-        System.out.println(controllersAdapter.methodMappings);
-        System.out.println(controllersAdapter.regexMethodMappings);
-        if (controllerMapping == null) {
+        RouteMatch<MethodMapping> routeMatch = controllersAdapter.getMethodMapping(req.getPathInfo(), method);
+        if (routeMatch == null) {
+            if (method.equals("GET") && metricsPath != null && metricsPath.equals(req.getPathInfo())) {
+                writeMetrics(resp);
+                return;
+            }
             resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            logAccess(UNMATCHED_ROUTE, HttpServletResponse.SC_NOT_FOUND, System.nanoTime() - start, 0);
+            return;
+        }
+
+        long bytes = 0;
+        boolean completed = false;
+        int preHandled = 0;
+        Throwable failure = null;
+        try {
+            for (HandlerInterceptor handlerInterceptor : handlerInterceptors) {
+                preHandle(handlerInterceptor, req, resp, routeMatch.getHandler());
+                preHandled++;
+            }
+            bytes = handleMethod(req, resp, routeMatch, preHandled, start);
+            completed = true;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (bytes != ASYNC) {
+                afterCompletion(req, resp, routeMatch.getHandler(), preHandled, failure);
+                int status = completed ? resp.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+                recordRequest(routeMatch.getHandler(), status, System.nanoTime() - start, bytes);
+            }
+        }
+    }
+
+    private void preHandle(HandlerInterceptor handlerInterceptor, HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping) throws ServletException, IOException {
+        try {
+            handlerInterceptor.preHandle(req, resp, methodMapping);
+        } catch (ServletException | IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    private void afterAsyncStarted(HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping, int preHandled) {
+        for (int i = preHandled - 1; i >= 0; i--) {
+            try {
+                handlerInterceptors.get(i).afterAsyncStarted(req, resp, methodMapping);
+            } catch (Exception e) {
+                logError(req, methodMapping, e);
+            }
+        }
+    }
+
+    private void afterCompletion(HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping, int preHandled, Throwable failure) throws ServletException {
+        ServletException afterCompletionFailure = null;
+        for (int i = preHandled - 1; i >= 0; i--) {
+            try {
+                handlerInterceptors.get(i).afterCompletion(req, resp, methodMapping, failure);
+            } catch (Exception e) {
+                if (afterCompletionFailure == null)
+                    afterCompletionFailure = new ServletException(e);
+            }
+        }
+        if (afterCompletionFailure != null && failure == null)
+            throw afterCompletionFailure;
+    }
+
+    private void recordRequest(MethodMapping methodMapping, int status, long elapsed, long bytes) {
+        methodMapping.getTimer().record(elapsed, status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        logAccess(methodMapping.getRoute(), status, elapsed, bytes);
+    }
+
+    private void logAccess(String route, int status, long elapsed, long bytes) {
+        if (accessLog != null)
+            accessLog.log(route, status, elapsed, bytes);
+    }
+
+    private void writeMetrics(HttpServletResponse resp) throws IOException {
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType("text/plain;version=0.0.4;charset=UTF-8");
+        metricsRegistry.write(new Utf8Writer(resp.getOutputStream()));
+    }
+
+    @Override
+    public void destroy() {
+        if (accessLog == null)
             return;
+        try {
+            accessLog.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        req.setAttribute("method", controllerMapping);
-        handleMethod(req, resp);
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package org.example;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+public interface HandlerInterceptor {
+    default void preHandle(HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping) throws Exception {
+    }
+
+    default void afterAsyncStarted(HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping) throws Exception {
+    }
+
+    default void afterCompletion(HttpServletRequest req, HttpServletResponse resp, MethodMapping methodMapping, Throwable failure) throws Exception {
+    }
+}
@@ -0,0 +1,33 @@
+package org.example;
+
+import java.util.Map;
+
+public class InvocationContext {
+    private final Map<String, String[]> requestParams;
+    private final String[] pathVariables;
+    private Object requestBody;
+
+    public InvocationContext(Map<String, String[]> requestParams, String[] pathVariables) {
+        this.requestParams = requestParams;
+        this.pathVariables = pathVariables;
+    }
+
+    public String getRequestParam(String name) {
+        String[] values = requestParams.get(name);
+        if (values == null || values.length == 0)
+            return null;
+        return values[0];
+    }
+
+    public String getPathVariable(int index) {
+        return pathVariables[index];
+    }
+
+    public Object getRequestBody() {
+        return requestBody;
+    }
+
+    public void setRequestBody(Object requestBody) {
+        this.requestBody = requestBody;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.Invokers;
+
+import java.lang.reflect.InvocationTargetException;
+
+public interface HandlerInvoker {
+    Object invoke(Object instance, Object[] arguments) throws InvocationTargetException, IllegalAccessException;
+}
@@ -0,0 +1,52 @@
+package org.example.Invokers;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public class MethodHandleInvoker implements HandlerInvoker {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodHandle WRAP_TARGET_FAILURE;
+    private final MethodHandle handle;
+
+    static {
+        try {
+            WRAP_TARGET_FAILURE = MethodHandles.lookup().findConstructor(TargetFailure.class, MethodType.methodType(void.class, Throwable.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public MethodHandleInvoker(Method method) throws IllegalAccessException {
+        method.trySetAccessible();
+        MethodHandle target = MethodHandles.lookup().unreflect(method);
+        MethodHandle rethrow = MethodHandles.filterArguments(MethodHandles.throwException(target.type().returnType(), TargetFailure.class), 0, WRAP_TARGET_FAILURE);
+        MethodHandle handle = MethodHandles.catchException(target, Throwable.class, MethodHandles.dropArguments(rethrow, 1, target.type().parameterList()));
+        this.handle = handle.asType(handle.type().generic())
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+    }
+
+    @Override
+    public Object invoke(Object instance, Object[] arguments) throws InvocationTargetException {
+        try {
+            return (Object) handle.invokeExact(instance, arguments);
+        } catch (TargetFailure e) {
+            throw new InvocationTargetException(e.getCause());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Arguments do not match handler method: " + e.getMessage(), e);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class TargetFailure extends RuntimeException {
+        TargetFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.Invokers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public class ReflectiveInvoker implements HandlerInvoker {
+    private final Method method;
+
+    public ReflectiveInvoker(Method method) {
+        this.method = method;
+    }
+
+    @Override
+    public Object invoke(Object instance, Object[] arguments) throws InvocationTargetException, IllegalAccessException {
+        return method.invoke(instance, arguments);
+    }
+}
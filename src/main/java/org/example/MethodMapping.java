@@ -1,76 +1,126 @@
 package org.example;
 
+import com.google.gson.TypeAdapter;
 import org.example.Annotations.RequestBody;
-import org.example.Annotations.RequestParam;
+import org.example.Invokers.HandlerInvoker;
+import org.example.Metrics.Timer;
+import org.example.Resolvers.ArgumentResolver;
+import org.example.Resolvers.RequestBodyReader;
 
 import javax.servlet.ServletException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
 
 public class MethodMapping {
-    Class<?> controller;
-    Method method;
-    Map<String, Integer> parameterIndexes;
-    Map<String, Object> requestParams;
-    Object requestBody;
-    Class<?> requestBodyType;
-    boolean isResponseBody;
-
-    public MethodMapping(Class<?> controller, Method method, boolean isResponseBody) {
+    final String route;
+    final Class<?> controller;
+    final Method method;
+    final ArgumentResolver[] argumentResolvers;
+    final HandlerInvoker invoker;
+    final Class<?> requestBodyType;
+    final boolean isResponseBody;
+    final Type responseType;
+    final RequestBodyReader requestBodyReader;
+    final TypeAdapter<?> responseAdapter;
+    final Timer timer;
+    Object controllerInstance;
+    ControllerProvider controllerProvider;
+
+    public MethodMapping(String route, Class<?> controller, Method method, boolean isResponseBody, ArgumentResolver[] argumentResolvers, HandlerInvoker invoker, RequestBodyReader requestBodyReader, SerializerRegistry serializerRegistry) {
+        this.route = route;
         this.controller = controller;
         this.method = method;
-        this.parameterIndexes = new HashMap<>();
+        this.argumentResolvers = argumentResolvers;
+        this.invoker = invoker;
         this.requestBodyType = findRequestBodyType();
-        this.requestParams = new HashMap<>();
         this.isResponseBody = isResponseBody;
+        this.responseType = findResponseType();
+        this.requestBodyReader = requestBodyReader;
+        this.timer = new Timer(route);
+        this.responseAdapter = responseType == null || serializerRegistry == null ? null : serializerRegistry.getAdapter(responseType);
     }
 
-    protected List<Object> initializeMethodParameters() throws ServletException {
-        List<Object> parsedParameters = new ArrayList<>();
-        Parameter[] parameters = method.getParameters();
-        for (Parameter parameter : parameters) {
-            RequestBody requestBodyAnn = parameter.getAnnotation(RequestBody.class);
-            if (requestBodyAnn != null) {
-                parsedParameters.add(requestBody);
-                continue;
-            }
-
-            RequestParam requestParamAnn = parameter.getAnnotation(RequestParam.class);
-            if (requestParamAnn != null) {
-                Object reqParam = requestParams.get(parameter.getName());
-                parsedParameters.add(reqParam);
-            }
-        }
-        return parsedParameters;
+    public void bindInstance(Object controllerInstance) {
+        this.controllerInstance = controllerInstance;
+    }
+
+    public void bindProvider(ControllerProvider controllerProvider) {
+        this.controllerProvider = controllerProvider;
+    }
+
+    public Object getControllerInstance() throws Exception {
+        Object instance = controllerInstance;
+        if (instance != null)
+            return instance;
+        return controllerProvider.get();
+    }
+
+    public Class<?> getController() {
+        return controller;
+    }
+
+    protected Object[] initializeMethodParameters(InvocationContext context) throws ServletException {
+        Object[] parameters = new Object[argumentResolvers.length];
+        for (int i = 0; i < parameters.length; i++)
+            parameters[i] = argumentResolvers[i].resolve(context);
+        return parameters;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public Timer getTimer() {
+        return timer;
     }
 
     public Class<?> getRequestBodyType() {
         return requestBodyType;
     }
 
-    public void addRequestParam(String name, Object obj) {
-        requestParams.put(name, obj);
+    public RequestBodyReader getRequestBodyReader() {
+        return requestBodyReader;
     }
 
-    public void addParameter(String name, int i) {
-        parameterIndexes.put(name, i);
+    @SuppressWarnings("unchecked")
+    public TypeAdapter<Object> getResponseAdapter(Object body) {
+        if (responseAdapter == null)
+            return null;
+        if (responseType instanceof ParameterizedType) {
+            Class<?> rawType = (Class<?>) ((ParameterizedType) responseType).getRawType();
+            if (Collection.class.isAssignableFrom(rawType) || Map.class.isAssignableFrom(rawType))
+                return (TypeAdapter<Object>) responseAdapter;
+            return null;
+        }
+        return body.getClass() == responseType ? (TypeAdapter<Object>) responseAdapter : null;
     }
 
-    public void setRequestBody(Object requestBody) {
-        this.requestBody = requestBody;
+    public Object invoke(Object instance, InvocationContext context) throws InvocationTargetException, IllegalAccessException, ServletException {
+        return invoker.invoke(instance, initializeMethodParameters(context));
+    }
+
+    private Type findResponseType() {
+        Type returnType = method.getGenericReturnType();
+        if (returnType instanceof ParameterizedType && isDeferred(((ParameterizedType) returnType).getRawType()))
+            returnType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+        if (returnType instanceof ParameterizedType && ((ParameterizedType) returnType).getRawType() == ResponseEntity.class)
+            returnType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+        if (returnType instanceof Class && !returnType.equals(Object.class) && !returnType.equals(Void.TYPE) && !returnType.equals(ResponseEntity.class))
+            return returnType;
+        if (returnType instanceof ParameterizedType && ((ParameterizedType) returnType).getRawType() instanceof Class)
+            return returnType;
+        return null;
     }
 
-    public Object invoke(Object instance) throws InvocationTargetException, IllegalAccessException, ServletException {
-        List<Object> parameters = initializeMethodParameters();
-        Object result = method.invoke(instance, parameters.toArray(new Object[0]));
-        requestBody = null;
-        requestParams = new HashMap<>();
-        return result;
+    private static boolean isDeferred(Type rawType) {
+        return rawType instanceof Class && (CompletionStage.class.isAssignableFrom((Class<?>) rawType) || Future.class.isAssignableFrom((Class<?>) rawType));
     }
 
     Class<?> findRequestBodyType() {
@@ -81,4 +131,4 @@ public class MethodMapping {
         }
         return null;
     }
-}
\ No newline at end of file
+}
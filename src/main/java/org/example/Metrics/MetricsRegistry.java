@@ -0,0 +1,142 @@
+package org.example.Metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.LongSupplier;
+
+public class MetricsRegistry {
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+    private final ConcurrentMap<String, Timer> routeTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> mapperTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> eventListenerQueueDepths = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> eventListenerDrops = new ConcurrentHashMap<>();
+    private final Map<String, Long> startupPhases = new ConcurrentHashMap<>();
+    private volatile LongSupplier accessLogDrops;
+
+    public void registerRouteTimer(Timer timer) {
+        routeTimers.put(timer.getName(), timer);
+    }
+
+    public Timer mapperTimer(String mapperMethod) {
+        return mapperTimers.computeIfAbsent(mapperMethod, Timer::new);
+    }
+
+    public void registerExecutors(Map<String, ExecutorService> executors) {
+        this.executors.putAll(executors);
+    }
+
+    public void registerEventListener(String name, LongSupplier queueDepth, LongSupplier dropped) {
+        eventListenerQueueDepths.put(name, queueDepth);
+        eventListenerDrops.put(name, dropped);
+    }
+
+    public void registerAccessLog(LongSupplier dropped) {
+        accessLogDrops = dropped;
+    }
+
+    public void recordStartupPhase(String phase, long nanos) {
+        startupPhases.put(phase, nanos);
+    }
+
+    public Map<String, Long> getStartupPhases() {
+        return Map.copyOf(startupPhases);
+    }
+
+    public void write(Writer writer) throws IOException {
+        writeStartupPhases(writer);
+        writeTimers(writer, "http_server_requests", "route", routeTimers);
+        writeTimers(writer, "mybatis_mapper_calls", "mapper", mapperTimers);
+        writeExecutors(writer);
+        writeEventListeners(writer);
+        writeAccessLog(writer);
+        writer.flush();
+    }
+
+    private void writeStartupPhases(Writer writer) throws IOException {
+        if (startupPhases.isEmpty())
+            return;
+
+        writer.write("# TYPE application_startup_phase_seconds gauge\n");
+        for (Map.Entry<String, Long> entry : startupPhases.entrySet())
+            writer.write("application_startup_phase_seconds{phase=\"" + escape(entry.getKey()) + "\"} " + seconds(entry.getValue()) + "\n");
+    }
+
+    private void writeTimers(Writer writer, String metric, String label, Map<String, Timer> timers) throws IOException {
+        if (timers.isEmpty())
+            return;
+
+        writer.write("# TYPE " + metric + "_total counter\n");
+        writer.write("# TYPE " + metric + "_errors_total counter\n");
+        writer.write("# TYPE " + metric + "_seconds summary\n");
+        for (Timer timer : timers.values()) {
+            String labels = label + "=\"" + escape(timer.getName()) + "\"";
+            LatencyHistogram histogram = timer.getHistogram();
+            writer.write(metric + "_total{" + labels + "} " + timer.getCount() + "\n");
+            writer.write(metric + "_errors_total{" + labels + "} " + timer.getErrors() + "\n");
+            long[] quantiles = histogram.getQuantiles(QUANTILES);
+            for (int i = 0; i < QUANTILES.length; i++)
+                writer.write(metric + "_seconds{" + labels + ",quantile=\"" + QUANTILES[i] + "\"} " + seconds(quantiles[i]) + "\n");
+            writer.write(metric + "_seconds_max{" + labels + "} " + seconds(histogram.getMax()) + "\n");
+            writer.write(metric + "_seconds_sum{" + labels + "} " + seconds(histogram.getSum()) + "\n");
+            writer.write(metric + "_seconds_count{" + labels + "} " + histogram.getCount() + "\n");
+        }
+    }
+
+    private void writeExecutors(Writer writer) throws IOException {
+        if (executors.isEmpty())
+            return;
+
+        writer.write("# TYPE executor_queue_depth gauge\n");
+        writer.write("# TYPE executor_active_tasks gauge\n");
+        for (Map.Entry<String, ExecutorService> entry : executors.entrySet()) {
+            String labels = "executor=\"" + escape(entry.getKey()) + "\"";
+            ExecutorService executorService = entry.getValue();
+            if (executorService instanceof ThreadPoolExecutor) {
+                ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executorService;
+                writer.write("executor_queue_depth{" + labels + "} " + threadPoolExecutor.getQueue().size() + "\n");
+                writer.write("executor_active_tasks{" + labels + "} " + threadPoolExecutor.getActiveCount() + "\n");
+            } else if (executorService instanceof ForkJoinPool) {
+                ForkJoinPool forkJoinPool = (ForkJoinPool) executorService;
+                writer.write("executor_queue_depth{" + labels + "} " + (forkJoinPool.getQueuedSubmissionCount() + forkJoinPool.getQueuedTaskCount()) + "\n");
+                writer.write("executor_active_tasks{" + labels + "} " + forkJoinPool.getActiveThreadCount() + "\n");
+            }
+        }
+    }
+
+    private void writeEventListeners(Writer writer) throws IOException {
+        if (eventListenerDrops.isEmpty())
+            return;
+
+        writer.write("# TYPE event_listener_queue_depth gauge\n");
+        writer.write("# TYPE event_listener_dropped_total counter\n");
+        for (Map.Entry<String, LongSupplier> entry : eventListenerDrops.entrySet()) {
+            String labels = "listener=\"" + escape(entry.getKey()) + "\"";
+            writer.write("event_listener_queue_depth{" + labels + "} " + eventListenerQueueDepths.get(entry.getKey()).getAsLong() + "\n");
+            writer.write("event_listener_dropped_total{" + labels + "} " + entry.getValue().getAsLong() + "\n");
+        }
+    }
+
+    private void writeAccessLog(Writer writer) throws IOException {
+        LongSupplier dropped = accessLogDrops;
+        if (dropped == null)
+            return;
+
+        writer.write("# TYPE access_log_dropped_total counter\n");
+        writer.write("access_log_dropped_total " + dropped.getAsLong() + "\n");
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Timer {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    public Timer(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos, boolean error) {
+        count.increment();
+        if (error)
+            errors.increment();
+        histogram.record(nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+}
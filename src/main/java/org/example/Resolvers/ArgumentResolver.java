@@ -0,0 +1,9 @@
+package org.example.Resolvers;
+
+import org.example.InvocationContext;
+
+import javax.servlet.ServletException;
+
+public interface ArgumentResolver {
+    Object resolve(InvocationContext context) throws ServletException;
+}
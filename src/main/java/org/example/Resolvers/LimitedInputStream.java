@@ -0,0 +1,44 @@
+package org.example.Resolvers;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+class LimitedInputStream extends FilterInputStream {
+    private final long limit;
+    private long remaining;
+
+    LimitedInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+        this.remaining = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0)
+            consume(1);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, (int) Math.min(len, remaining + 1));
+        if (read > 0)
+            consume(read);
+        return read;
+    }
+
+    private void consume(int bytes) throws PayloadTooLargeException {
+        remaining -= bytes;
+        if (remaining < 0)
+            throw new PayloadTooLargeException(limit);
+    }
+
+    static class PayloadTooLargeException extends IOException {
+        PayloadTooLargeException(long limit) {
+            super("Request body exceeds " + limit + " bytes");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.Resolvers;
+
+import org.example.InvocationContext;
+
+import java.util.function.Function;
+
+public class PathVariableResolver implements ArgumentResolver {
+    private final int index;
+    private final Function<String, Object> converter;
+
+    public PathVariableResolver(int index, Function<String, Object> converter) {
+        this.index = index;
+        this.converter = converter;
+    }
+
+    @Override
+    public Object resolve(InvocationContext context) {
+        return converter.apply(context.getPathVariable(index));
+    }
+}
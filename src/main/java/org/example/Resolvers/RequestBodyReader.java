@@ -0,0 +1,60 @@
+package org.example.Resolvers;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.MalformedJsonException;
+import org.example.ResponseStatusException;
+import org.example.SerializerRegistry;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public class RequestBodyReader {
+    private final SerializerRegistry serializerRegistry;
+    private final TypeAdapter<Object> adapter;
+    private final long maxSize;
+
+    public RequestBodyReader(SerializerRegistry serializerRegistry, TypeAdapter<Object> adapter, long maxSize) {
+        this.serializerRegistry = serializerRegistry;
+        this.adapter = adapter;
+        this.maxSize = maxSize;
+    }
+
+    public Object read(HttpServletRequest req) throws IOException, ResponseStatusException {
+        long contentLength = req.getContentLengthLong();
+        if (maxSize >= 0 && contentLength > maxSize)
+            throw new ResponseStatusException(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "Request body exceeds " + maxSize + " bytes");
+
+        String contentType = req.getContentType();
+        if (contentType != null && !isJson(contentType))
+            throw new ResponseStatusException(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "Unsupported content type " + contentType);
+
+        InputStream inputStream = req.getInputStream();
+        if (maxSize >= 0)
+            inputStream = new LimitedInputStream(inputStream, maxSize);
+        String encoding = req.getCharacterEncoding();
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        try {
+            return serializerRegistry.read(adapter, new InputStreamReader(inputStream, charset));
+        } catch (LimitedInputStream.PayloadTooLargeException e) {
+            throw new ResponseStatusException(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+        } catch (JsonParseException | IllegalStateException | MalformedJsonException | EOFException e) {
+            throw new ResponseStatusException(HttpServletResponse.SC_BAD_REQUEST, "Malformed request body", e);
+        }
+    }
+
+    private boolean isJson(String contentType) {
+        String mediaType = contentType.toLowerCase();
+        int parameters = mediaType.indexOf(';');
+        if (parameters >= 0)
+            mediaType = mediaType.substring(0, parameters);
+        mediaType = mediaType.trim();
+        return mediaType.equals("application/json") || mediaType.endsWith("+json");
+    }
+}
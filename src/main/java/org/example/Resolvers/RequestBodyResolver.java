@@ -0,0 +1,10 @@
+package org.example.Resolvers;
+
+import org.example.InvocationContext;
+
+public class RequestBodyResolver implements ArgumentResolver {
+    @Override
+    public Object resolve(InvocationContext context) {
+        return context.getRequestBody();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.Resolvers;
+
+import org.example.InvocationContext;
+
+import java.util.function.Function;
+
+public class RequestParamResolver implements ArgumentResolver {
+    private final String name;
+    private final Function<String, Object> converter;
+
+    public RequestParamResolver(String name, Function<String, Object> converter) {
+        this.name = name;
+        this.converter = converter;
+    }
+
+    @Override
+    public Object resolve(InvocationContext context) {
+        String value = context.getRequestParam(name);
+        if (value == null)
+            return null;
+        return converter.apply(value);
+    }
+}
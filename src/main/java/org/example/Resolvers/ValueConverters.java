@@ -0,0 +1,29 @@
+package org.example.Resolvers;
+
+import java.util.function.Function;
+
+public class ValueConverters {
+    private ValueConverters() {}
+
+    public static Function<String, Object> forType(Class<?> parseClass) {
+        if (parseClass.equals(Integer.class) || parseClass.equals(int.class))
+            return Integer::parseInt;
+
+        if (parseClass.equals(Double.class) || parseClass.equals(double.class))
+            return Double::parseDouble;
+
+        if (parseClass.equals(Long.class) || parseClass.equals(long.class))
+            return Long::parseLong;
+
+        if (parseClass.equals(Short.class) || parseClass.equals(short.class))
+            return Short::parseShort;
+
+        if (parseClass.equals(Float.class) || parseClass.equals(float.class))
+            return Float::parseFloat;
+
+        if (parseClass.equals(Boolean.class) || parseClass.equals(boolean.class))
+            return Boolean::parseBoolean;
+
+        return value -> value;
+    }
+}
@@ -1,12 +1,13 @@
 package org.example;
 
-import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 public class ResponseEntity<T> {
-    Gson gson;
     private final int httpStatus;
     private final T body;
     private final Map<String, String> headers;
@@ -19,18 +20,25 @@ public class ResponseEntity<T> {
         return headers;
     }
 
+    public T getBody() {
+        return body;
+    }
+
     public ResponseEntity(int httpStatus, Map<String, String> headers, T body) {
         this.httpStatus = httpStatus;
         this.headers = headers;
         this.body = body;
-        this.gson = new Gson();
     }
 
     public ResponseEntity(T body, int httpStatus) {
         this(httpStatus, new HashMap<>(), body);
     }
 
-    public String getEntityAsJson() {
-        return gson.toJson(body);
+    public void writeEntity(TypeAdapter<? super T> adapter, JsonWriter writer) throws IOException {
+        if (body == null)
+            writer.nullValue();
+        else
+            adapter.write(writer, body);
+        writer.flush();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package org.example;
+
+import javax.servlet.ServletException;
+
+public class ResponseStatusException extends ServletException {
+    private final int status;
+
+    public ResponseStatusException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public ResponseStatusException(int status, String message, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.Routing;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PathRouter<T> {
+    private final Map<String, Node<T>> roots = new HashMap<>();
+
+    public void addRoute(String httpMethod, String template, T handler) {
+        Node<T> root = roots.computeIfAbsent(httpMethod, key -> new Node<>());
+        Node<T> node = root;
+        int variables = 0;
+        int start = template.startsWith("/") ? 1 : 0;
+        while (true) {
+            int end = template.indexOf('/', start);
+            boolean last = end < 0;
+            String segment = template.substring(start, last ? template.length() : end);
+            if (isVariable(segment)) {
+                node = node.variableChild();
+                variables++;
+            } else if (segment.equals("*")) {
+                node = node.wildcardChild();
+            } else if (segment.indexOf('{') >= 0 || segment.indexOf('*') >= 0) {
+                throw new IllegalArgumentException("Path variables and wildcards must span a whole segment: " + template);
+            } else {
+                node = node.literalChild(segment);
+            }
+            if (last)
+                break;
+            start = end + 1;
+        }
+
+        if (node.handler != null)
+            throw new IllegalStateException("Route " + httpMethod + " " + template + " is already mapped");
+        node.handler = handler;
+        root.maxVariables = Math.max(root.maxVariables, variables);
+    }
+
+    public RouteMatch<T> match(String httpMethod, String path) {
+        Node<T> root = roots.get(httpMethod);
+        if (root == null || path == null)
+            return null;
+
+        String[] pathVariables = new String[root.maxVariables];
+        Node<T> node = match(root, path, path.startsWith("/") ? 1 : 0, pathVariables, 0);
+        if (node == null)
+            return null;
+        return new RouteMatch<>(node.handler, pathVariables);
+    }
+
+    private Node<T> match(Node<T> node, String path, int start, String[] pathVariables, int variableIndex) {
+        int end = path.indexOf('/', start);
+        boolean last = end < 0;
+        if (last)
+            end = path.length();
+        String segment = path.substring(start, end);
+
+        if (node.literals != null) {
+            Node<T> literal = node.literals.get(segment);
+            Node<T> found = next(literal, path, end, last, pathVariables, variableIndex);
+            if (found != null)
+                return found;
+        }
+
+        if (segment.isEmpty())
+            return null;
+
+        if (node.variable != null) {
+            pathVariables[variableIndex] = segment;
+            Node<T> found = next(node.variable, path, end, last, pathVariables, variableIndex + 1);
+            if (found != null)
+                return found;
+        }
+
+        return next(node.wildcard, path, end, last, pathVariables, variableIndex);
+    }
+
+    private Node<T> next(Node<T> child, String path, int end, boolean last, String[] pathVariables, int variableIndex) {
+        if (child == null)
+            return null;
+        if (last)
+            return child.handler != null ? child : null;
+        return match(child, path, end + 1, pathVariables, variableIndex);
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}'
+                && segment.indexOf('{', 1) < 0 && segment.indexOf('}') == segment.length() - 1;
+    }
+
+    private static class Node<T> {
+        Map<String, Node<T>> literals;
+        Node<T> variable;
+        Node<T> wildcard;
+        T handler;
+        int maxVariables;
+
+        Node<T> literalChild(String segment) {
+            if (literals == null)
+                literals = new HashMap<>();
+            return literals.computeIfAbsent(segment, key -> new Node<>());
+        }
+
+        Node<T> variableChild() {
+            if (variable == null)
+                variable = new Node<>();
+            return variable;
+        }
+
+        Node<T> wildcardChild() {
+            if (wildcard == null)
+                wildcard = new Node<>();
+            return wildcard;
+        }
+    }
+}
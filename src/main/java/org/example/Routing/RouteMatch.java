@@ -0,0 +1,19 @@
+package org.example.Routing;
+
+public class RouteMatch<T> {
+    private final T handler;
+    private final String[] pathVariables;
+
+    public RouteMatch(T handler, String[] pathVariables) {
+        this.handler = handler;
+        this.pathVariables = pathVariables;
+    }
+
+    public T getHandler() {
+        return handler;
+    }
+
+    public String[] getPathVariables() {
+        return pathVariables;
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.Scanning;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+class ClassFileReader {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations".getBytes(StandardCharsets.UTF_8);
+    private final byte[][] typeDescriptors;
+    private final byte[][] methodDescriptors;
+
+    ClassFileReader(Collection<String> typeAnnotations, Collection<String> methodAnnotations) {
+        this.typeDescriptors = toDescriptors(typeAnnotations);
+        this.methodDescriptors = toDescriptors(methodAnnotations);
+    }
+
+    private static byte[][] toDescriptors(Collection<String> annotations) {
+        return annotations.stream()
+                .map(annotation -> ("L" + annotation.replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+    }
+
+    String findComponentClassName(ByteBuffer buffer) {
+        try {
+            return readComponentClassName(buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String readComponentClassName(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC)
+            return null;
+
+        buffer.position(8);
+        int constantPoolCount = u2(buffer);
+        int[] offsets = new int[constantPoolCount];
+        boolean candidate = false;
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = buffer.get() & 0xFF;
+            offsets[i] = buffer.position();
+            switch (tag) {
+                case 1:
+                    int length = u2(buffer);
+                    if (!candidate && (matchesAny(buffer, buffer.position(), length, typeDescriptors) || matchesAny(buffer, buffer.position(), length, methodDescriptors)))
+                        candidate = true;
+                    skip(buffer, length);
+                    break;
+                case 7: case 8: case 16: case 19: case 20:
+                    skip(buffer, 2);
+                    break;
+                case 15:
+                    skip(buffer, 3);
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    skip(buffer, 4);
+                    break;
+                case 5: case 6:
+                    skip(buffer, 8);
+                    i++;
+                    break;
+                default:
+                    return null;
+            }
+        }
+        if (!candidate)
+            return null;
+
+        skip(buffer, 2);
+        int thisClass = u2(buffer);
+        skip(buffer, 2);
+        skip(buffer, 2 * u2(buffer));
+
+        skipMembers(buffer);
+        boolean matches = false;
+        int methodsCount = u2(buffer);
+        for (int i = 0; i < methodsCount; i++) {
+            skip(buffer, 6);
+            matches |= readAttributes(buffer, offsets, methodDescriptors);
+        }
+        matches |= readAttributes(buffer, offsets, typeDescriptors);
+        if (!matches)
+            return null;
+
+        int nameOffset = offsets[buffer.getShort(offsets[thisClass]) & 0xFFFF];
+        byte[] name = new byte[buffer.getShort(nameOffset) & 0xFFFF];
+        buffer.get(nameOffset + 2, name);
+        return new String(name, StandardCharsets.UTF_8).replace('/', '.');
+    }
+
+    private void skipMembers(ByteBuffer buffer) {
+        int count = u2(buffer);
+        for (int i = 0; i < count; i++) {
+            skip(buffer, 6);
+            int attributesCount = u2(buffer);
+            for (int j = 0; j < attributesCount; j++) {
+                skip(buffer, 2);
+                skip(buffer, buffer.getInt());
+            }
+        }
+    }
+
+    private boolean readAttributes(ByteBuffer buffer, int[] offsets, byte[][] descriptors) {
+        boolean matches = false;
+        int attributesCount = u2(buffer);
+        for (int i = 0; i < attributesCount; i++) {
+            int nameOffset = offsets[u2(buffer)];
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+            if (!matches && utf8Equals(buffer, nameOffset, RUNTIME_VISIBLE_ANNOTATIONS))
+                matches = readAnnotations(buffer, offsets, descriptors);
+            buffer.position(end);
+        }
+        return matches;
+    }
+
+    private boolean readAnnotations(ByteBuffer buffer, int[] offsets, byte[][] descriptors) {
+        int count = u2(buffer);
+        for (int i = 0; i < count; i++) {
+            int typeOffset = offsets[u2(buffer)];
+            if (matchesAny(buffer, typeOffset + 2, buffer.getShort(typeOffset) & 0xFFFF, descriptors))
+                return true;
+            skipElementValuePairs(buffer);
+        }
+        return false;
+    }
+
+    private void skipElementValuePairs(ByteBuffer buffer) {
+        int pairs = u2(buffer);
+        for (int i = 0; i < pairs; i++) {
+            skip(buffer, 2);
+            skipElementValue(buffer);
+        }
+    }
+
+    private void skipElementValue(ByteBuffer buffer) {
+        int tag = buffer.get() & 0xFF;
+        switch (tag) {
+            case 'e':
+                skip(buffer, 4);
+                break;
+            case '@':
+                skip(buffer, 2);
+                skipElementValuePairs(buffer);
+                break;
+            case '[':
+                int values = u2(buffer);
+                for (int i = 0; i < values; i++)
+                    skipElementValue(buffer);
+                break;
+            default:
+                skip(buffer, 2);
+        }
+    }
+
+    private static boolean utf8Equals(ByteBuffer buffer, int offset, byte[] expected) {
+        return bytesEqual(buffer, offset + 2, buffer.getShort(offset) & 0xFFFF, expected);
+    }
+
+    private static boolean matchesAny(ByteBuffer buffer, int offset, int length, byte[][] candidates) {
+        for (byte[] candidate : candidates) {
+            if (bytesEqual(buffer, offset, length, candidate))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean bytesEqual(ByteBuffer buffer, int offset, int length, byte[] expected) {
+        if (expected.length != length)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != expected[i])
+                return false;
+        }
+        return true;
+    }
+
+    private static int u2(ByteBuffer buffer) {
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    private static void skip(ByteBuffer buffer, int length) {
+        buffer.position(buffer.position() + length);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.Scanning;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ClassPathScanner {
+    private static final ClassFileReader CLASS_FILE_READER = new ClassFileReader(ComponentIndex.TYPE_ANNOTATIONS, ComponentIndex.METHOD_ANNOTATIONS);
+
+    public static List<Class<?>> loadClasses(Path root, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        return ComponentIndex.loadClasses(findComponentClassNames(root), classLoader);
+    }
+
+    public static List<String> findComponentClassNames(Path root) throws IOException {
+        if (Files.isDirectory(root))
+            return scan(root);
+
+        try (FileSystem jar = FileSystems.newFileSystem(root)) {
+            return scan(jar.getPath("/"));
+        }
+    }
+
+    private static List<String> scan(Path root) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(root)) {
+            Iterator<Path> iterator = paths.iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                if (!isClassFile(root, file))
+                    continue;
+
+                String className = CLASS_FILE_READER.findComponentClassName(ByteBuffer.wrap(Files.readAllBytes(file)));
+                if (className != null)
+                    classNames.add(className);
+            }
+        }
+        return classNames;
+    }
+
+    private static boolean isClassFile(Path root, Path file) {
+        String fileName = file.getFileName() == null ? "" : file.getFileName().toString();
+        return fileName.endsWith(".class")
+                && !fileName.equals("module-info.class")
+                && !fileName.equals("package-info.class")
+                && !root.relativize(file).toString().startsWith("META-INF")
+                && Files.isRegularFile(file);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.Scanning;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ComponentIndex {
+    public static final String LOCATION = "META-INF/org.example.components";
+    public static final List<String> TYPE_ANNOTATIONS = List.of(
+            "org.example.Annotations.Component",
+            "org.example.Annotations.RestController",
+            "org.example.Annotations.Controller",
+            "org.example.Annotations.Configuration",
+            "org.apache.ibatis.annotations.Mapper");
+    public static final List<String> METHOD_ANNOTATIONS = List.of(
+            "org.example.DependencyInjector.Annotations.EventListener");
+
+    public static List<String> read(ClassLoader classLoader) throws IOException {
+        return read(classLoader, null);
+    }
+
+    public static List<String> read(ClassLoader classLoader, URL applicationRoot) throws IOException {
+        List<URL> resources = Collections.list(classLoader.getResources(LOCATION));
+        if (resources.isEmpty() || (applicationRoot != null && !containsIndexOf(resources, applicationRoot)))
+            return null;
+
+        Set<String> classNames = new LinkedHashSet<>();
+        for (URL resource : resources) {
+            try (InputStream inputStream = resource.openStream();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#"))
+                        classNames.add(line);
+                }
+            }
+        }
+        return new ArrayList<>(classNames);
+    }
+
+    private static boolean containsIndexOf(List<URL> resources, URL applicationRoot) {
+        String root = applicationRoot.toString();
+        String directoryIndex = (root.endsWith("/") ? root : root + "/") + LOCATION;
+        String jarIndex = "jar:" + root + "!/" + LOCATION;
+        for (URL resource : resources) {
+            String location = resource.toString();
+            if (location.equals(directoryIndex) || location.equals(jarIndex))
+                return true;
+        }
+        return false;
+    }
+
+    public static List<Class<?>> loadClasses(List<String> classNames, ClassLoader classLoader) throws ClassNotFoundException {
+        List<Class<?>> classes = new ArrayList<>(classNames.size());
+        for (String className : classNames)
+            classes.add(Class.forName(className, false, classLoader));
+        return classes;
+    }
+}
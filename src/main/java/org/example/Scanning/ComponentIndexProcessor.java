@@ -0,0 +1,90 @@
+package org.example.Scanning;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class ComponentIndexProcessor extends AbstractProcessor {
+    private final Set<String> classNames = new TreeSet<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+    private boolean existingIndexRead;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> annotationTypes = new HashSet<>(ComponentIndex.TYPE_ANNOTATIONS);
+        annotationTypes.addAll(ComponentIndex.METHOD_ANNOTATIONS);
+        return annotationTypes;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!existingIndexRead) {
+            existingIndexRead = true;
+            readExistingIndex();
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                TypeElement typeElement = enclosingType(element);
+                if (typeElement != null && classNames.add(processingEnv.getElementUtils().getBinaryName(typeElement).toString()))
+                    originatingElements.add(typeElement);
+            }
+        }
+
+        if (roundEnv.processingOver() && !classNames.isEmpty())
+            writeIndex();
+        return false;
+    }
+
+    private void readExistingIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            try (BufferedReader reader = new BufferedReader(resource.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#") && processingEnv.getElementUtils().getTypeElement(line.replace('$', '.')) != null)
+                        classNames.add(line);
+                }
+            }
+        } catch (IOException e) {
+            // no index from an earlier compilation
+        }
+    }
+
+    private TypeElement enclosingType(Element element) {
+        while (element != null && !(element instanceof TypeElement))
+            element = element.getEnclosingElement();
+        return (TypeElement) element;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION, originatingElements.toArray(new Element[0]));
+            try (Writer writer = resource.openWriter()) {
+                for (String className : classNames)
+                    writer.write(className + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + ComponentIndex.LOCATION + ": " + e.getMessage());
+        }
+    }
+}
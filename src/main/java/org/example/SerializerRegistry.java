@@ -0,0 +1,66 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SerializerRegistry {
+    private final GsonBuilder gsonBuilder = new GsonBuilder();
+    private final Map<Type, TypeAdapter<?>> adapters = new ConcurrentHashMap<>();
+    private volatile Gson gson;
+
+    public synchronized void registerTypeAdapter(Type type, Object typeAdapter) {
+        checkNotBuilt();
+        gsonBuilder.registerTypeAdapter(type, typeAdapter);
+    }
+
+    public synchronized void registerTypeAdapterFactory(TypeAdapterFactory typeAdapterFactory) {
+        checkNotBuilt();
+        gsonBuilder.registerTypeAdapterFactory(typeAdapterFactory);
+    }
+
+    private void checkNotBuilt() {
+        if (gson != null)
+            throw new IllegalStateException("Type adapters must be registered before the first serializer lookup");
+    }
+
+    public Gson getGson() {
+        Gson gson = this.gson;
+        if (gson != null)
+            return gson;
+        synchronized (this) {
+            if (this.gson == null)
+                this.gson = gsonBuilder.create();
+            return this.gson;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> getAdapter(Type type) {
+        TypeAdapter<?> adapter = adapters.get(type);
+        if (adapter == null)
+            adapter = adapters.computeIfAbsent(type, key -> getGson().getAdapter(TypeToken.get(key)));
+        return (TypeAdapter<T>) adapter;
+    }
+
+    public <T> T read(TypeAdapter<T> adapter, Reader reader) throws IOException {
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setLenient(true);
+        try {
+            jsonReader.peek();
+        } catch (EOFException e) {
+            return null;
+        }
+        return adapter.read(jsonReader);
+    }
+}
@@ -1,10 +1,16 @@
 package org.example;
 
-import org.example.Adapters.MyBatisAdapter;
 import org.example.Adapters.TomcatAdapter;
 
+import java.util.Arrays;
+
 public class SpringApplication {
     public static AnnotationApplicationContext run(Class<?> configClass) throws Exception {
-        return new AnnotationApplicationContext(configClass);
+        AnnotationApplicationContext applicationContext = new AnnotationApplicationContext(configClass);
+        applicationContext.registerShutdownHook();
+        String[] adapterClassNames = applicationContext.getProperty("adapters", "").split(",");
+        if (Arrays.asList(adapterClassNames).contains(TomcatAdapter.class.getName()))
+            applicationContext.getInstance(TomcatAdapter.class).await();
+        return applicationContext;
     }
-}
\ No newline at end of file
+}
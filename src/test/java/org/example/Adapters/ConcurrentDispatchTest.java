@@ -0,0 +1,106 @@
+package org.example.Adapters;
+
+import org.example.AnnotationApplicationContext;
+import org.example.Annotations.Mappings.GetMapping;
+import org.example.Annotations.Mappings.PostMapping;
+import org.example.Annotations.Mappings.RequestMapping;
+import org.example.Annotations.PathVariable;
+import org.example.Annotations.RequestBody;
+import org.example.Annotations.RequestParam;
+import org.example.Annotations.RestController;
+import org.example.InvocationContext;
+import org.example.Metrics.MetricsRegistry;
+import org.example.MethodMapping;
+import org.example.Routing.RouteMatch;
+import org.example.SerializerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class ConcurrentDispatchTest {
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 5_000;
+
+    private ControllersAdapter controllersAdapter;
+    private PostController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        AnnotationApplicationContext applicationContext = Mockito.mock(AnnotationApplicationContext.class);
+        Mockito.when(applicationContext.getClasses()).thenReturn(List.of(PostController.class));
+        Mockito.when(applicationContext.getProperty(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        Mockito.when(applicationContext.getSerializerRegistry()).thenReturn(new SerializerRegistry());
+        Mockito.when(applicationContext.getMetricsRegistry()).thenReturn(new MetricsRegistry());
+        controllersAdapter = new ControllersAdapter(applicationContext);
+        controller = new PostController();
+    }
+
+    @Test
+    void concurrentRequestsNeverShareArguments() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(executorService.submit(() -> {
+                    barrier.await();
+                    int checked = 0;
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        long id = thread * 1_000_000L + i;
+                        int commentId = i * 31 + thread;
+                        String page = thread + "-" + i;
+                        assertEquals(id + "/" + commentId + "?" + page, dispatch("GET", "/posts/" + id + "/comments/" + commentId, page, null));
+
+                        String body = "body-" + thread + "-" + i;
+                        assertEquals(body + "?" + page, dispatch("POST", "/posts", page, body));
+                        checked += 2;
+                    }
+                    return checked;
+                }));
+            }
+
+            for (Future<Integer> result : results)
+                assertEquals(REQUESTS_PER_THREAD * 2, result.get(60, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Object dispatch(String method, String url, String page, Object body) throws Exception {
+        RouteMatch<MethodMapping> routeMatch = controllersAdapter.getMethodMapping(url, method);
+        assertNotNull(routeMatch, method + " " + url);
+        InvocationContext context = new InvocationContext(Map.of("page", new String[] { page }), routeMatch.getPathVariables());
+        if (body != null)
+            context.setRequestBody(body);
+        return routeMatch.getHandler().invoke(controller, context);
+    }
+
+    @RestController
+    @RequestMapping("/posts")
+    public static class PostController {
+        @GetMapping("/{id}/comments/{commentId}")
+        public String comment(@PathVariable long id, @PathVariable int commentId, @RequestParam String page) {
+            return id + "/" + commentId + "?" + page;
+        }
+
+        @PostMapping("")
+        public String create(@RequestBody String body, @RequestParam String page) {
+            return body + "?" + page;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.Adapters;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.executor.BatchResult;
+import org.example.AnnotationApplicationContext;
+import org.example.Annotations.Batch;
+import org.example.Metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class MyBatisBatchTest {
+    private PostMapper mapper;
+    private SqlSessionContext sqlSessionContext;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("url", "jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1");
+        properties.setProperty("username", "sa");
+        properties.setProperty("password", "");
+        properties.setProperty("driver", "org.h2.Driver");
+        Map<Class<?>, Object> instances = new HashMap<>();
+        AnnotationApplicationContext applicationContext = Mockito.mock(AnnotationApplicationContext.class);
+        Mockito.when(applicationContext.getClasses()).thenReturn(List.of(PostMapper.class));
+        Mockito.when(applicationContext.getProperties()).thenReturn(properties);
+        Mockito.when(applicationContext.getProperty(anyString(), any())).thenAnswer(invocation -> properties.getProperty(invocation.getArgument(0), invocation.getArgument(1)));
+        Mockito.when(applicationContext.getMetricsRegistry()).thenReturn(new MetricsRegistry());
+        Mockito.doAnswer(invocation -> instances.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(applicationContext).registerInstance(any(), any());
+        new MyBatisAdapter(applicationContext);
+        mapper = (PostMapper) instances.get(PostMapper.class);
+        sqlSessionContext = (SqlSessionContext) instances.get(SqlSessionContext.class);
+        mapper.createTable();
+        mapper.truncate();
+    }
+
+    @Test
+    void batchFlushesEveryNStatements() throws Exception {
+        List<BatchResult> results = sqlSessionContext.inBatch(3, () -> {
+            for (Post post : posts(7))
+                mapper.insert(post);
+            return null;
+        });
+
+        assertEquals(3, results.size());
+        assertArrayEquals(new int[] {1, 1, 1}, results.get(0).getUpdateCounts());
+        assertArrayEquals(new int[] {1, 1, 1}, results.get(1).getUpdateCounts());
+        assertArrayEquals(new int[] {1}, results.get(2).getUpdateCounts());
+        assertEquals(7, mapper.count());
+    }
+
+    @Test
+    void batchMapperReturnsUpdateCounts() {
+        assertArrayEquals(new int[] {1, 1, 1, 1, 1}, mapper.insertAll(posts(5)));
+        mapper.insertAll(List.of(new Post("title 0")));
+
+        assertEquals(3, mapper.renameAll(List.of(new Post("title 0"), new Post("title 4"), new Post("missing"))));
+        assertEquals(2, mapper.countTitle("renamed title 0"));
+        assertEquals(6, mapper.count());
+    }
+
+    @Test
+    void batchMapperRejectsNullArgument() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> mapper.insertAll(null));
+
+        assertTrue(e.getMessage().contains("insertAll"), e.getMessage());
+        assertEquals(0, mapper.count());
+    }
+
+    @Test
+    void batchFailureRollsBackTheWholeBatch() {
+        assertThrows(IllegalStateException.class, () -> sqlSessionContext.inBatch(2, () -> {
+            for (Post post : posts(3))
+                mapper.insert(post);
+            throw new IllegalStateException("abort");
+        }));
+
+        assertEquals(0, mapper.count());
+    }
+
+    @Test
+    void batchInsideTransactionRollsBackWithIt() {
+        assertThrows(IllegalStateException.class, () -> sqlSessionContext.inTransaction(() -> {
+            mapper.insert(new Post("outer"));
+            sqlSessionContext.inBatch(2, () -> {
+                for (Post post : posts(3))
+                    mapper.insert(post);
+                return null;
+            });
+            mapper.insertAll(posts(4));
+            throw new IllegalStateException("abort");
+        }));
+
+        assertEquals(0, mapper.count());
+    }
+
+    @Test
+    void batchInsideTransactionSharesItsConnection() throws Exception {
+        int[] updateCounts = sqlSessionContext.inTransaction(() -> {
+            mapper.insert(new Post("outer"));
+            String connectionId = mapper.sessionId();
+            int[] counts = mapper.insertAll(posts(4));
+            assertEquals(5, mapper.count());
+            assertEquals(connectionId, mapper.sessionId());
+            assertTrue(sqlSessionContext.isTransactionActive());
+            return counts;
+        });
+
+        assertArrayEquals(new int[] {1, 1, 1, 1}, updateCounts);
+        assertEquals(5, mapper.count());
+    }
+
+    @Test
+    void failedBatchMarksSurroundingTransactionRollbackOnly() throws Exception {
+        sqlSessionContext.inTransaction(() -> {
+            mapper.insert(new Post("outer"));
+            assertThrows(IllegalStateException.class, () -> sqlSessionContext.inBatch(2, () -> {
+                mapper.insert(new Post("inner"));
+                throw new IllegalStateException("abort");
+            }));
+            return null;
+        });
+
+        assertEquals(0, mapper.count());
+    }
+
+    @Test
+    void nestedBatchJoinsOuterBatch() throws Exception {
+        List<BatchResult> inner = new ArrayList<>();
+        List<BatchResult> outer = sqlSessionContext.inBatch(100, () -> {
+            mapper.insert(new Post("first"));
+            inner.addAll(sqlSessionContext.inBatch(1, () -> mapper.insert(new Post("second"))));
+            mapper.insert(new Post("third"));
+            return null;
+        });
+
+        assertTrue(inner.isEmpty());
+        assertEquals(1, outer.size());
+        assertArrayEquals(new int[] {1, 1, 1}, outer.get(0).getUpdateCounts());
+        assertEquals(3, mapper.count());
+    }
+
+    @Test
+    void failedNestedBatchRollsBackOuterBatch() throws Exception {
+        sqlSessionContext.inBatch(100, () -> {
+            mapper.insert(new Post("first"));
+            assertThrows(IllegalStateException.class, () -> sqlSessionContext.inBatch(1, () -> {
+                mapper.insert(new Post("second"));
+                throw new IllegalStateException("abort");
+            }));
+            return null;
+        });
+
+        assertEquals(0, mapper.count());
+    }
+
+    private static List<Post> posts(int count) {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            posts.add(new Post("title " + i));
+        return posts;
+    }
+
+    @Mapper
+    public interface PostMapper {
+        @Update("CREATE TABLE IF NOT EXISTS post (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(100))")
+        void createTable();
+
+        @Update("TRUNCATE TABLE post")
+        void truncate();
+
+        @Insert("INSERT INTO post (title) VALUES (#{title})")
+        int insert(Post post);
+
+        @Batch(flushEvery = 2)
+        @Insert("INSERT INTO post (title) VALUES (#{title})")
+        int[] insertAll(List<Post> posts);
+
+        @Batch
+        @Update("UPDATE post SET title = CONCAT('renamed ', title) WHERE title = #{title}")
+        int renameAll(List<Post> posts);
+
+        @Select("SELECT COUNT(*) FROM post")
+        int count();
+
+        @Select("SELECT COUNT(*) FROM post WHERE title = #{title}")
+        int countTitle(String title);
+
+        @Select("SELECT SESSION_ID()")
+        String sessionId();
+    }
+
+    public static class Post {
+        final String title;
+
+        Post(String title) {
+            this.title = title;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+}
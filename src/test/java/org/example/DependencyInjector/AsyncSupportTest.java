@@ -0,0 +1,92 @@
+package org.example.DependencyInjector;
+
+import org.example.DependencyInjector.Annotations.AsyncExecutor.Kind;
+import org.example.DependencyInjector.Annotations.AsyncExecutor.RejectionPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncSupportTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService executorService;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void discardedFutureFailsWithRejectedExecutionException() throws Exception {
+        Map<String, ExecutorService> executors = saturatedExecutor(RejectionPolicy.DISCARD);
+
+        Future<?> discarded = (Future<?>) AsyncSupport.invoke(executors, "test", Future.class, () -> "discarded");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> discarded.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    @Test
+    void discardedCompletableFutureFailsWithRejectedExecutionException() throws Exception {
+        Map<String, ExecutorService> executors = saturatedExecutor(RejectionPolicy.DISCARD);
+
+        CompletableFuture<?> discarded = (CompletableFuture<?>) AsyncSupport.invoke(executors, "test", CompletableFuture.class, () -> "discarded");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> discarded.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    @Test
+    void discardOldestFailsTheQueuedFutureAndRunsTheNewOne() throws Exception {
+        Map<String, ExecutorService> executors = saturatedExecutor(RejectionPolicy.DISCARD_OLDEST);
+        CompletableFuture<?> queued = (CompletableFuture<?>) AsyncSupport.invoke(executors, "test", CompletableFuture.class, () -> "queued");
+
+        CompletableFuture<?> newest = (CompletableFuture<?>) AsyncSupport.invoke(executors, "test", CompletableFuture.class, () -> "newest");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        release.countDown();
+        assertEquals("newest", newest.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void onlyCompletionStageReturnTypesAreComposed() throws Exception {
+        executorService = ExecutorFactory.create("test", Kind.FIXED, 1, 0, RejectionPolicy.ABORT);
+        Map<String, ExecutorService> executors = Map.of("test", executorService);
+
+        Object objectResult = AsyncSupport.invoke(executors, "test", Object.class, () -> "value");
+        Object futureResult = AsyncSupport.invoke(executors, "test", Future.class, () -> "value");
+        Object stageResult = AsyncSupport.invoke(executors, "test", CompletionStage.class, () -> "value");
+
+        assertFalse(objectResult instanceof CompletionStage);
+        assertFalse(futureResult instanceof CompletionStage);
+        assertEquals("value", ((Future<?>) objectResult).get(5, TimeUnit.SECONDS));
+        assertEquals("value", ((Future<?>) futureResult).get(5, TimeUnit.SECONDS));
+        assertEquals("value", ((CompletableFuture<?>) stageResult).get(5, TimeUnit.SECONDS));
+    }
+
+    private Map<String, ExecutorService> saturatedExecutor(RejectionPolicy rejectionPolicy) {
+        executorService = ExecutorFactory.create("test", Kind.FIXED, 1, 1, rejectionPolicy);
+        Map<String, ExecutorService> executors = Map.of("test", executorService);
+        AsyncSupport.invoke(executors, "test", Void.TYPE, () -> {
+            release.await();
+            return null;
+        });
+        AsyncSupport.invoke(executors, "test", Void.TYPE, () -> null);
+        return executors;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.DependencyInjector;
+
+import org.example.DependencyInjector.Annotations.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DependencyGraphTest {
+    @Test
+    void unscannedDependenciesBecomeNodes() {
+        DependencyGraph dependencyGraph = new DependencyGraph(new Container(), List.of(OrderController.class));
+
+        assertEquals(List.of(List.of(OrderRepository.class), List.of(OrderService.class), List.of(OrderController.class)), dependencyGraph.getLevels());
+    }
+
+    @Test
+    void cycleThroughUnscannedClassesIsCreatedSequentially() {
+        Container container = new Container();
+        DependencyGraph dependencyGraph = new DependencyGraph(container, List.of(LeftPeer.class, RightPeer.class));
+        for (List<Class<?>> level : dependencyGraph.getLevels())
+            assertEquals(1, level.size(), String.valueOf(dependencyGraph.getLevels()));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> dependencyGraph.instantiate(pool));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        LeftPeer left = (LeftPeer) container.classInstances.get(LeftPeer.class);
+        RightPeer right = (RightPeer) container.classInstances.get(RightPeer.class);
+        assertSame(right, left.bridge.right);
+        assertSame(left, right.bridge.left);
+        assertTrue(container.classInstances.containsKey(LeftBridge.class));
+    }
+
+    public static class OrderRepository {
+    }
+
+    public static class OrderService {
+        @Inject
+        public OrderRepository repository;
+    }
+
+    public static class OrderController {
+        @Inject
+        public OrderService service;
+    }
+
+    public static class LeftPeer {
+        @Inject
+        public LeftBridge bridge;
+    }
+
+    public static class RightPeer {
+        @Inject
+        public RightBridge bridge;
+    }
+
+    public static class LeftBridge {
+        @Inject
+        public RightPeer right;
+
+        public LeftBridge() throws InterruptedException {
+            Thread.sleep(200);
+        }
+    }
+
+    public static class RightBridge {
+        @Inject
+        public LeftPeer left;
+
+        public RightBridge() throws InterruptedException {
+            Thread.sleep(200);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.DependencyInjector;
+
+import org.example.DependencyInjector.Annotations.EventListener;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ListenerQueueTest {
+    @Test
+    void closeDeliversQueuedEvents() throws Exception {
+        SlowListener slowListener = new SlowListener();
+        ApplicationEventPublisher publisher = new ApplicationEventPublisher();
+        publisher.addListener(new Listener(slowListener, SlowListener.class.getMethod("onEvent", Integer.class)));
+        for (int i = 0; i < 5; i++)
+            publisher.publishEvent(i);
+
+        publisher.close(10_000);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), slowListener.received);
+        assertEquals(List.of(), threadsNamed("event-SlowListener.onEvent"));
+        publisher.publishEvent(5);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), slowListener.received);
+    }
+
+    @Test
+    void batchedLaneDeliversQueuedEventsOnClose() throws Exception {
+        BatchListener batchListener = new BatchListener();
+        ApplicationEventPublisher publisher = new ApplicationEventPublisher();
+        publisher.addListener(new Listener(batchListener, BatchListener.class.getMethod("onEvents", List.class)));
+        publisher.publishEvent(-1);
+        batchListener.started.await();
+        for (int i = 0; i < 5; i++)
+            publisher.publishEvent(i);
+        batchListener.release.countDown();
+
+        publisher.close(10_000);
+
+        List<Integer> received = new ArrayList<>();
+        batchListener.batches.forEach(received::addAll);
+        assertEquals(List.of(-1, 0, 1, 2, 3, 4), received);
+    }
+
+    @Test
+    void publishFromFullLaneToItselfRunsInline() throws Exception {
+        ApplicationEventPublisher publisher = new ApplicationEventPublisher();
+        ChainListener chainListener = new ChainListener(publisher);
+        publisher.addListener(new Listener(chainListener, ChainListener.class.getMethod("onEvent", Integer.class)));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            publisher.publishEvent(0);
+            chainListener.done.await();
+        });
+
+        assertEquals(11, chainListener.received.size());
+        publisher.close(10_000);
+    }
+
+    private static List<Thread> threadsNamed(String name) {
+        List<Thread> threads = new ArrayList<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(name))
+                threads.add(thread);
+        }
+        return threads;
+    }
+
+    public static class SlowListener {
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+
+        @EventListener(async = true)
+        public void onEvent(Integer event) throws InterruptedException {
+            Thread.sleep(50);
+            received.add(event);
+        }
+    }
+
+    public static class BatchListener {
+        final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @EventListener(async = true, batchSize = 2)
+        public void onEvents(List<Integer> events) throws InterruptedException {
+            batches.add(events);
+            if (events.contains(-1)) {
+                started.countDown();
+                release.await();
+            }
+        }
+    }
+
+    public static class ChainListener {
+        final ApplicationEventPublisher publisher;
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        ChainListener(ApplicationEventPublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        @EventListener(async = true, queueCapacity = 1)
+        public void onEvent(Integer event) throws Exception {
+            received.add(event);
+            if (event == 0) {
+                for (int i = 1; i <= 10; i++)
+                    publisher.publishEvent(i);
+            }
+            if (received.size() == 11)
+                done.countDown();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.Invokers;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MethodHandleInvokerTest {
+    @Test
+    void invokesPublicMethodOfPackagePrivateController() throws Exception {
+        MethodHandleInvoker invoker = new MethodHandleInvoker(PostController.class.getMethod("title", long.class));
+
+        assertEquals("post 7", invoker.invoke(new PostController(), new Object[] {7L}));
+    }
+
+    @Test
+    void wrapsOnlyTargetFailuresInInvocationTargetException() throws Exception {
+        MethodHandleInvoker invoker = new MethodHandleInvoker(PostController.class.getMethod("fail", String.class));
+
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> invoker.invoke(new PostController(), new Object[] {"boom"}));
+        assertInstanceOf(ClassCastException.class, e.getCause());
+    }
+
+    @Test
+    void rejectsMismatchedArgumentsWithIllegalArgumentException() throws Exception {
+        MethodHandleInvoker invoker = new MethodHandleInvoker(PostController.class.getMethod("title", long.class));
+
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new PostController(), new Object[] {"7"}));
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new PostController(), new Object[] {null}));
+    }
+
+    static class PostController {
+        public String title(long id) {
+            return "post " + id;
+        }
+
+        public void fail(String message) {
+            throw new ClassCastException(message);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.Scanning;
+
+import org.example.Annotations.Component;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentIndexProcessorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void buildWritesIndexForTestSources() throws Exception {
+        List<String> classNames = ComponentIndex.read(getClass().getClassLoader());
+        assertTrue(classNames != null && classNames.contains(IndexedComponent.class.getName()), String.valueOf(classNames));
+    }
+
+    @Test
+    void incrementalCompileMergesWithExistingIndex() throws Exception {
+        Path output = Files.createDirectories(tempDir.resolve("classes"));
+        compile(output, source("demo.First", "@org.example.Annotations.Component"), source("demo.Second", "@org.example.Annotations.RestController"));
+        assertEquals(List.of("demo.First", "demo.Second"), readIndex(output));
+
+        compile(output, source("demo.Third", "@org.example.Annotations.Component"));
+        assertEquals(List.of("demo.First", "demo.Second", "demo.Third"), readIndex(output));
+    }
+
+    @Test
+    void incrementalCompileDropsDeletedClasses() throws Exception {
+        Path output = Files.createDirectories(tempDir.resolve("classes"));
+        compile(output, source("demo.First", "@org.example.Annotations.Component"), source("demo.Second", "@org.example.Annotations.Component"));
+        Files.delete(output.resolve("demo/Second.class"));
+
+        compile(output, source("demo.Third", "@org.example.Annotations.Component"));
+        assertEquals(List.of("demo.First", "demo.Third"), readIndex(output));
+    }
+
+    @Test
+    void libraryIndexIsIgnoredWhenApplicationHasNone() throws Exception {
+        Path library = writeIndex(tempDir.resolve("library"), "library.LibraryComponent");
+        Path application = Files.createDirectories(tempDir.resolve("application"));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {library.toUri().toURL(), application.toUri().toURL()}, null)) {
+            assertNull(ComponentIndex.read(classLoader, application.toUri().toURL()));
+        }
+    }
+
+    @Test
+    void applicationIndexIsReadTogetherWithLibraryIndexes() throws Exception {
+        Path library = writeIndex(tempDir.resolve("library"), "library.LibraryComponent");
+        Path application = writeIndex(tempDir.resolve("application"), "demo.First");
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {library.toUri().toURL(), application.toUri().toURL()}, null)) {
+            assertEquals(List.of("library.LibraryComponent", "demo.First"), ComponentIndex.read(classLoader, application.toUri().toURL()));
+        }
+    }
+
+    @Test
+    void applicationIndexIsFoundInsideItsJar() throws Exception {
+        Path jar = tempDir.resolve("application.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(Files.newOutputStream(jar))) {
+            outputStream.putNextEntry(new JarEntry(ComponentIndex.LOCATION));
+            outputStream.write("demo.First\n".getBytes(StandardCharsets.UTF_8));
+            outputStream.closeEntry();
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+            assertEquals(List.of("demo.First"), ComponentIndex.read(classLoader, jar.toUri().toURL()));
+        }
+    }
+
+    private Path writeIndex(Path root, String className) throws Exception {
+        Path index = root.resolve(ComponentIndex.LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, className + "\n");
+        return root;
+    }
+
+    private Path source(String className, String annotation) throws Exception {
+        int dot = className.lastIndexOf('.');
+        Path file = tempDir.resolve("src").resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package " + className.substring(0, dot) + ";\n" + annotation + "\npublic class " + className.substring(dot + 1) + " {}\n");
+        return file;
+    }
+
+    private void compile(Path output, Path... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String frameworkClasses = Path.of(Component.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(sources);
+            List<String> options = List.of("-d", output.toString(), "-classpath", frameworkClasses + File.pathSeparator + output, "-implicit:none");
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+            task.setProcessors(List.of(new ComponentIndexProcessor()));
+            assertTrue(task.call());
+        }
+    }
+
+    private List<String> readIndex(Path output) throws Exception {
+        return Files.readAllLines(output.resolve(ComponentIndex.LOCATION));
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.Scanning;
+
+import org.example.Annotations.Component;
+
+@Component
+public class IndexedComponent {
+}